@@ -0,0 +1,81 @@
+package com.university.coursemanagement.analytics;
+
+import com.university.coursemanagement.entity.Result;
+
+import java.time.Month;
+import java.util.Locale;
+
+/**
+ * Group-by axes over a {@link ResultSnapshot}. Each dimension maps a row to a small
+ * non-negative code below its cardinality, so several dimensions pack into one long key.
+ */
+public enum Dimension {
+    COURSE, EXAM_TYPE, INSTRUCTOR, GRADE, STUDENT, YEAR, MONTH;
+
+    private static final Result.ExamType[] EXAM_TYPES = Result.ExamType.values();
+    private static final Result.Grade[] GRADES = Result.Grade.values();
+
+    public static Dimension parse(String name) {
+        String normalized = name.trim().toUpperCase(Locale.ROOT).replace("-", "_");
+        return normalized.equals("EXAMTYPE") ? EXAM_TYPE : valueOf(normalized);
+    }
+
+    // One extra code on every dimension stands for "unknown"
+    int cardinality(ResultSnapshot s) {
+        switch (this) {
+            case COURSE: return s.courseIds.length + 1;
+            case EXAM_TYPE: return EXAM_TYPES.length + 1;
+            case INSTRUCTOR: return s.instructors.length + 1;
+            case GRADE: return GRADES.length + 1;
+            case STUDENT: return s.studentIds.length + 1;
+            case YEAR: return s.maxMonth / 12 - s.minMonth / 12 + 2;
+            default: return s.maxMonth - s.minMonth + 2;
+        }
+    }
+
+    int code(ResultSnapshot s, int row) {
+        switch (this) {
+            case COURSE: return s.courseIdx[row];
+            case EXAM_TYPE: return s.examTypes[row] < 0 ? EXAM_TYPES.length : s.examTypes[row];
+            case INSTRUCTOR: {
+                int instructor = s.courseInstructor[s.courseIdx[row]];
+                return instructor < 0 ? s.instructors.length : instructor;
+            }
+            case GRADE: return s.grades[row] < 0 ? GRADES.length : s.grades[row];
+            case STUDENT: return s.studentIdx[row];
+            case YEAR: {
+                int month = s.epochMonths[row];
+                return month == ResultSnapshot.NO_DATE ? cardinality(s) - 1 : month / 12 - s.minMonth / 12;
+            }
+            default: {
+                int month = s.epochMonths[row];
+                return month == ResultSnapshot.NO_DATE ? cardinality(s) - 1 : month - s.minMonth;
+            }
+        }
+    }
+
+    Object label(ResultSnapshot s, int code) {
+        if (code == cardinality(s) - 1) {
+            return null;
+        }
+        switch (this) {
+            case COURSE: return s.courseCodes[code];
+            case EXAM_TYPE: return EXAM_TYPES[code];
+            case INSTRUCTOR: return s.instructors[code];
+            case GRADE: return GRADES[code];
+            case STUDENT: return s.studentIds[code];
+            case YEAR: return s.minMonth / 12 + code;
+            default: {
+                int month = s.minMonth + code;
+                return String.format("%04d-%02d", month / 12, Month.of(month % 12 + 1).getValue());
+            }
+        }
+    }
+
+    public String key() {
+        switch (this) {
+            case EXAM_TYPE: return "examType";
+            default: return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.university.coursemanagement.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A filtered group-by over a snapshot. Rows are split into ranges that fork-join
+ * workers scan independently into per-key accumulators, which are merged on join.
+ */
+public class ResultQuery {
+
+    private static final int SPLIT_THRESHOLD = 1 << 15;
+
+    private final List<Dimension> groupBy;
+    private int courseIdx = -1;
+    private int examType = -1;
+    private int fromDay = Integer.MIN_VALUE;
+    private int toDay = Integer.MAX_VALUE;
+
+    public ResultQuery(List<Dimension> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public ResultQuery course(int courseIdx) {
+        this.courseIdx = courseIdx;
+        return this;
+    }
+
+    public ResultQuery examType(int examType) {
+        this.examType = examType;
+        return this;
+    }
+
+    public ResultQuery between(int fromDay, int toDay) {
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        return this;
+    }
+
+    public List<Map<String, Object>> run(ResultSnapshot snapshot) {
+        int dimensions = groupBy.size();
+        long[] strides = new long[dimensions];
+        long stride = 1;
+        for (int d = dimensions - 1; d >= 0; d--) {
+            strides[d] = stride;
+            stride = Math.multiplyExact(stride, groupBy.get(d).cardinality(snapshot));
+        }
+
+        Map<Long, Accumulator> groups = ForkJoinPool.commonPool()
+            .invoke(new ScanTask(snapshot, strides, 0, snapshot.size));
+
+        List<Map<String, Object>> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, Accumulator> entry : new TreeMap<>(groups).entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            long key = entry.getKey();
+            for (int d = 0; d < dimensions; d++) {
+                Dimension dimension = groupBy.get(d);
+                int code = (int) (key / strides[d] % dimension.cardinality(snapshot));
+                row.put(dimension.key(), dimension.label(snapshot, code));
+            }
+            Accumulator acc = entry.getValue();
+            row.put("count", acc.count);
+            row.put("average", acc.sum / acc.count);
+            row.put("min", acc.min);
+            row.put("max", acc.max);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private boolean matches(ResultSnapshot s, int row) {
+        if (courseIdx >= 0 && s.courseIdx[row] != courseIdx) {
+            return false;
+        }
+        if (examType >= 0 && s.examTypes[row] != examType) {
+            return false;
+        }
+        if (fromDay != Integer.MIN_VALUE || toDay != Integer.MAX_VALUE) {
+            int day = s.epochDays[row];
+            return day != ResultSnapshot.NO_DATE && day >= fromDay && day <= toDay;
+        }
+        return true;
+    }
+
+    private static final class Accumulator {
+        long count;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        void add(double score) {
+            count++;
+            sum += score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+
+        void merge(Accumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<Map<Long, Accumulator>> {
+        private static final long serialVersionUID = 1L;
+
+        private final ResultSnapshot snapshot;
+        private final long[] strides;
+        private final int from;
+        private final int to;
+
+        ScanTask(ResultSnapshot snapshot, long[] strides, int from, int to) {
+            this.snapshot = snapshot;
+            this.strides = strides;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, Accumulator> compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                ScanTask left = new ScanTask(snapshot, strides, from, mid);
+                left.fork();
+                Map<Long, Accumulator> right = new ScanTask(snapshot, strides, mid, to).compute();
+                Map<Long, Accumulator> merged = left.join();
+                right.forEach((key, acc) -> merged.merge(key, acc, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                }));
+                return merged;
+            }
+
+            Map<Long, Accumulator> groups = new HashMap<>();
+            int dimensions = groupBy.size();
+            for (int row = from; row < to; row++) {
+                if (!matches(snapshot, row)) {
+                    continue;
+                }
+                long key = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    key += groupBy.get(d).code(snapshot, row) * strides[d];
+                }
+                groups.computeIfAbsent(key, k -> new Accumulator()).add(snapshot.scores[row]);
+            }
+            return groups;
+        }
+    }
+}
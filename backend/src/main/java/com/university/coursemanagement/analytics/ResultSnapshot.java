@@ -0,0 +1,269 @@
+package com.university.coursemanagement.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable columnar copy of the results table. Row i of every column describes the
+ * same result; courses, instructors and students are dictionary-encoded as indexes.
+ * A refresh derives a new snapshot through {@link Builder} and swaps it in, so
+ * queries always see one consistent version without locking.
+ */
+public final class ResultSnapshot {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    final int size;
+    final long[] resultIds;
+    final double[] scores;
+    final byte[] grades;
+    final int[] courseIdx;
+    final int[] studentIdx;
+    final byte[] examTypes;
+    final int[] epochDays;
+    // year * 12 + (month - 1), derived from epochDays at load time
+    final int[] epochMonths;
+
+    final Map<Long, Integer> rowByResultId;
+    final long[] courseIds;
+    final String[] courseCodes;
+    final Map<Long, Integer> courseIndex;
+    final int[] courseInstructor;
+    final String[] instructors;
+    final long[] studentIds;
+    final Map<Long, Integer> studentIndex;
+
+    final int minMonth;
+    final int maxMonth;
+    final LocalDateTime watermark;
+    final LocalDateTime refreshedAt;
+
+    private ResultSnapshot(Builder builder) {
+        this.size = builder.size;
+        this.resultIds = builder.resultIds;
+        this.scores = builder.scores;
+        this.grades = builder.grades;
+        this.courseIdx = builder.courseIdx;
+        this.studentIdx = builder.studentIdx;
+        this.examTypes = builder.examTypes;
+        this.epochDays = builder.epochDays;
+        this.epochMonths = builder.epochMonths;
+        this.rowByResultId = builder.rowByResultId;
+        this.courseIds = Arrays.copyOf(builder.courseIds, builder.courseCount);
+        this.courseCodes = Arrays.copyOf(builder.courseCodes, builder.courseCount);
+        this.courseIndex = builder.courseIndex;
+        this.courseInstructor = Arrays.copyOf(builder.courseInstructor, builder.courseCount);
+        this.instructors = builder.instructors;
+        this.studentIds = Arrays.copyOf(builder.studentIds, builder.studentCount);
+        this.studentIndex = builder.studentIndex;
+        this.watermark = builder.watermark;
+        this.refreshedAt = LocalDateTime.now();
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (epochMonths[i] != NO_DATE) {
+                min = Math.min(min, epochMonths[i]);
+                max = Math.max(max, epochMonths[i]);
+            }
+        }
+        this.minMonth = min == Integer.MAX_VALUE ? 0 : min;
+        this.maxMonth = max == Integer.MIN_VALUE ? 0 : max;
+    }
+
+    public Integer courseIndex(long courseId) {
+        return courseIndex.get(courseId);
+    }
+
+    public int getSize() { return size; }
+    public LocalDateTime getWatermark() { return watermark; }
+    public LocalDateTime getRefreshedAt() { return refreshedAt; }
+
+    public static Builder empty(int capacity) {
+        return new Builder(null, capacity);
+    }
+
+    public Builder toBuilder(int extraCapacity) {
+        return new Builder(this, size + extraCapacity);
+    }
+
+    public static final class Builder {
+        private int size;
+        private long[] resultIds;
+        private double[] scores;
+        private byte[] grades;
+        private int[] courseIdx;
+        private int[] studentIdx;
+        private byte[] examTypes;
+        private int[] epochDays;
+        private int[] epochMonths;
+        private final Map<Long, Integer> rowByResultId;
+
+        private int courseCount;
+        private long[] courseIds;
+        private String[] courseCodes;
+        private int[] courseInstructor;
+        private final Map<Long, Integer> courseIndex;
+        private String[] instructors = new String[0];
+
+        private int studentCount;
+        private long[] studentIds;
+        private final Map<Long, Integer> studentIndex;
+
+        private LocalDateTime watermark;
+
+        private Builder(ResultSnapshot base, int capacity) {
+            capacity = Math.max(capacity, 16);
+            if (base == null) {
+                resultIds = new long[capacity];
+                scores = new double[capacity];
+                grades = new byte[capacity];
+                courseIdx = new int[capacity];
+                studentIdx = new int[capacity];
+                examTypes = new byte[capacity];
+                epochDays = new int[capacity];
+                epochMonths = new int[capacity];
+                rowByResultId = new HashMap<>(capacity * 2);
+                courseIds = new long[16];
+                courseCodes = new String[16];
+                courseInstructor = new int[16];
+                courseIndex = new HashMap<>();
+                studentIds = new long[16];
+                studentIndex = new HashMap<>();
+                return;
+            }
+            size = base.size;
+            resultIds = Arrays.copyOf(base.resultIds, capacity);
+            scores = Arrays.copyOf(base.scores, capacity);
+            grades = Arrays.copyOf(base.grades, capacity);
+            courseIdx = Arrays.copyOf(base.courseIdx, capacity);
+            studentIdx = Arrays.copyOf(base.studentIdx, capacity);
+            examTypes = Arrays.copyOf(base.examTypes, capacity);
+            epochDays = Arrays.copyOf(base.epochDays, capacity);
+            epochMonths = Arrays.copyOf(base.epochMonths, capacity);
+            rowByResultId = new HashMap<>(base.rowByResultId);
+            courseCount = base.courseIds.length;
+            courseIds = Arrays.copyOf(base.courseIds, Math.max(16, courseCount));
+            courseCodes = Arrays.copyOf(base.courseCodes, Math.max(16, courseCount));
+            courseInstructor = Arrays.copyOf(base.courseInstructor, Math.max(16, courseCount));
+            courseIndex = new HashMap<>(base.courseIndex);
+            instructors = base.instructors;
+            studentCount = base.studentIds.length;
+            studentIds = Arrays.copyOf(base.studentIds, Math.max(16, studentCount));
+            studentIndex = new HashMap<>(base.studentIndex);
+            watermark = base.watermark;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Replaces the course dimension in place: existing course indexes stay stable,
+         * new courses are appended and instructor names are re-encoded.
+         */
+        public void courses(Iterable<Object[]> rows) {
+            Map<String, Integer> instructorIndex = new HashMap<>();
+            String[] names = new String[16];
+            for (Object[] row : rows) {
+                int idx = course(((Number) row[0]).longValue());
+                courseCodes[idx] = (String) row[1];
+                String instructor = (String) row[2];
+                if (instructor == null) {
+                    courseInstructor[idx] = -1;
+                    continue;
+                }
+                Integer existing = instructorIndex.get(instructor);
+                if (existing == null) {
+                    existing = instructorIndex.size();
+                    instructorIndex.put(instructor, existing);
+                    if (existing == names.length) {
+                        names = Arrays.copyOf(names, names.length * 2);
+                    }
+                    names[existing] = instructor;
+                }
+                courseInstructor[idx] = existing;
+            }
+            instructors = Arrays.copyOf(names, instructorIndex.size());
+        }
+
+        public void upsert(long resultId, long studentId, long courseId, double score, int grade, int examType,
+                    LocalDateTime examDate, LocalDateTime updatedAt) {
+            Integer row = rowByResultId.get(resultId);
+            int i;
+            if (row != null) {
+                i = row;
+            } else {
+                if (size == resultIds.length) {
+                    grow(size * 2);
+                }
+                i = size++;
+                rowByResultId.put(resultId, i);
+            }
+            resultIds[i] = resultId;
+            scores[i] = score;
+            grades[i] = (byte) grade;
+            courseIdx[i] = course(courseId);
+            studentIdx[i] = student(studentId);
+            examTypes[i] = (byte) examType;
+            if (examDate != null) {
+                LocalDate date = examDate.toLocalDate();
+                epochDays[i] = (int) date.toEpochDay();
+                epochMonths[i] = date.getYear() * 12 + date.getMonthValue() - 1;
+            } else {
+                epochDays[i] = NO_DATE;
+                epochMonths[i] = NO_DATE;
+            }
+            if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+                watermark = updatedAt;
+            }
+        }
+
+        public ResultSnapshot build() {
+            return new ResultSnapshot(this);
+        }
+
+        private int course(long courseId) {
+            Integer idx = courseIndex.get(courseId);
+            if (idx != null) {
+                return idx;
+            }
+            if (courseCount == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, courseCount * 2);
+                courseCodes = Arrays.copyOf(courseCodes, courseCount * 2);
+                courseInstructor = Arrays.copyOf(courseInstructor, courseCount * 2);
+            }
+            courseIds[courseCount] = courseId;
+            courseInstructor[courseCount] = -1;
+            courseIndex.put(courseId, courseCount);
+            return courseCount++;
+        }
+
+        private int student(long studentId) {
+            Integer idx = studentIndex.get(studentId);
+            if (idx != null) {
+                return idx;
+            }
+            if (studentCount == studentIds.length) {
+                studentIds = Arrays.copyOf(studentIds, studentCount * 2);
+            }
+            studentIds[studentCount] = studentId;
+            studentIndex.put(studentId, studentCount);
+            return studentCount++;
+        }
+
+        private void grow(int capacity) {
+            resultIds = Arrays.copyOf(resultIds, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            courseIdx = Arrays.copyOf(courseIdx, capacity);
+            studentIdx = Arrays.copyOf(studentIdx, capacity);
+            examTypes = Arrays.copyOf(examTypes, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            epochMonths = Arrays.copyOf(epochMonths, capacity);
+        }
+    }
+}
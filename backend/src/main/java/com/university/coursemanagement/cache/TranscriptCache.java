@@ -0,0 +1,80 @@
+package com.university.coursemanagement.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Built transcripts keyed by student id. Result writes evict only the student they
+ * touch, once immediately and again after commit so a transcript rebuilt from
+ * pre-commit data cannot outlive the transaction. Every eviction also advances the
+ * student's generation stripe, and a load whose stripe moved while it ran is not
+ * kept, so a slow reader cannot re-cache what an eviction just removed.
+ */
+@Component
+public class TranscriptCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ExpiringLruCache<Long, Map<String, Object>> transcripts;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public TranscriptCache(@Value("${transcript.cache.max-entries:20000}") int maxEntries,
+                           @Value("${transcript.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.transcripts = new ExpiringLruCache<>(maxEntries, TimeUnit.MINUTES.toMillis(ttlMinutes));
+    }
+
+    public Map<String, Object> get(Long studentId, Function<Long, Map<String, Object>> loader) {
+        Map<String, Object> transcript = transcripts.get(studentId);
+        if (transcript == null) {
+            int stripe = stripeOf(studentId);
+            long generation = generations.get(stripe);
+            transcript = loader.apply(studentId);
+            transcripts.put(studentId, transcript);
+            // Evictions advance the generation before removing, so either they remove this entry or we do
+            if (generations.get(stripe) != generation) {
+                transcripts.remove(studentId);
+            }
+        }
+        return transcript;
+    }
+
+    public void evict(Long studentId) {
+        invalidate(studentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(studentId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        transcripts.clear();
+    }
+
+    public Map<String, Object> stats() {
+        return transcripts.stats();
+    }
+
+    private void invalidate(Long studentId) {
+        generations.incrementAndGet(stripeOf(studentId));
+        transcripts.remove(studentId);
+    }
+
+    private static int stripeOf(Long studentId) {
+        return Math.floorMod(studentId.hashCode(), GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,67 @@
+package com.university.coursemanagement.cache;
+
+import com.university.coursemanagement.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Authenticated principals keyed by the login name they were loaded with (username
+ * or student ID). Account changes evict by user id, which covers every name the
+ * user may be cached under. Evictions also advance a generation, and a load that
+ * overlapped one is not kept, so a disabled account cannot be re-cached as enabled.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final ExpiringLruCache<String, User> users;
+
+    // One generation for the whole cache: a load does not know its user id up front, and evictions are rare
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(@Value("${security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${security.user-cache.ttl-minutes:5}") long ttlMinutes) {
+        this.users = new ExpiringLruCache<>(maxEntries, TimeUnit.MINUTES.toMillis(ttlMinutes));
+    }
+
+    public User get(String username, Function<String, User> loader) {
+        User user = users.get(username);
+        if (user == null) {
+            long loadedAt = generation.get();
+            user = loader.apply(username);
+            users.put(username, user);
+            // Evictions advance the generation before removing, so either they remove this entry or we do
+            if (generation.get() != loadedAt) {
+                users.remove(username);
+            }
+        }
+        return user;
+    }
+
+    public void evict(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return users.stats();
+    }
+
+    private void invalidate(Long userId) {
+        generation.incrementAndGet();
+        users.removeIf(user -> user.getId().equals(userId));
+    }
+}
@@ -0,0 +1,59 @@
+package com.university.coursemanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves registrations_seq past MAX(registrations.id) before anything inserts. The
+ * sequence is created at initialValue regardless of existing rows when ddl-auto adds
+ * it to a populated database, and the pooled optimizer hands out ids up to one
+ * allocation below the value it reads, hence the extra allocationSize of headroom.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RegistrationSequenceSeeder implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationSequenceSeeder.class);
+    
+    // Must match @SequenceGenerator on Registration
+    private static final long ALLOCATION_SIZE = 50;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM registrations", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long target = maxId + ALLOCATION_SIZE + 1;
+        
+        String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+            metaData -> metaData.getDatabaseProductName());
+        if (product.toLowerCase().contains("mysql") || product.toLowerCase().contains("mariadb")) {
+            // Hibernate emulates sequences on MySQL with a single-row next_val table
+            int updated = jdbcTemplate.update("UPDATE registrations_seq SET next_val = ? WHERE next_val < ?", target, target);
+            if (updated > 0) {
+                logger.info("Advanced registrations_seq to {}", target);
+            }
+            return;
+        }
+        
+        List<Long> current = jdbcTemplate.queryForList(
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = 'REGISTRATIONS_SEQ'", Long.class);
+        if (!current.isEmpty() && current.get(0) < target) {
+            jdbcTemplate.execute("ALTER SEQUENCE registrations_seq RESTART WITH " + target);
+            logger.info("Advanced registrations_seq to {}", target);
+        }
+    }
+}
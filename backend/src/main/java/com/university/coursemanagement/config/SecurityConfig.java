@@ -1,11 +1,17 @@
 package com.university.coursemanagement.config;
 
+import com.university.coursemanagement.security.BoundedPasswordEncoder;
+import com.university.coursemanagement.security.IdempotencyFilter;
 import com.university.coursemanagement.security.JwtAuthenticationFilter;
+import com.university.coursemanagement.security.RegistrationAdmissionFilter;
 import com.university.coursemanagement.service.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -15,8 +21,8 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -33,9 +39,24 @@ public class SecurityConfig {
     @Lazy
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Autowired
+    private RegistrationAdmissionFilter registrationAdmissionFilter;
+    
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+    
+    @Value("${auth.hashing.threads:2}")
+    private int hashingThreads;
+    
+    @Value("${auth.hashing.max-queue:64}")
+    private int hashingMaxQueue;
+    
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long hashingTimeoutMs;
+    
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, hashingMaxQueue, hashingTimeoutMs);
     }
     
     @Bean
@@ -57,9 +78,16 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // 401 for a missing or expired token lets clients refresh before retrying
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authorizeHttpRequests(authz -> authz
+                // Completion of async responses (SSE streams) re-dispatches without a token
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints
                 .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
+                // Error dispatches carry no token; let the original status reach the client
+                .requestMatchers(new AntPathRequestMatcher("/error")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/api/courses/test", "GET")).permitAll()
                 
@@ -69,6 +97,7 @@ public class SecurityConfig {
                 
                 // Course management
                 .requestMatchers(new AntPathRequestMatcher("/api/courses", "POST")).hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(new AntPathRequestMatcher("/api/courses/*/finalize", "POST")).hasAnyRole("ADMIN", "INSTRUCTOR")
                 .requestMatchers(new AntPathRequestMatcher("/api/courses/**", "PUT")).hasAnyRole("ADMIN", "INSTRUCTOR")
                 .requestMatchers(new AntPathRequestMatcher("/api/courses/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR", "REGISTRAR", "STUDENT")
                 
@@ -78,19 +107,35 @@ public class SecurityConfig {
                 .requestMatchers(new AntPathRequestMatcher("/api/students/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR", "REGISTRAR")
                 
                 // Registration management
+                .requestMatchers(new AntPathRequestMatcher("/api/registrations/bulk", "POST")).hasAnyRole("ADMIN", "REGISTRAR")
                 .requestMatchers(new AntPathRequestMatcher("/api/registrations", "POST")).hasAnyRole("ADMIN", "REGISTRAR", "STUDENT")
                 .requestMatchers(new AntPathRequestMatcher("/api/registrations/**", "PUT")).hasAnyRole("ADMIN", "REGISTRAR")
                 .requestMatchers(new AntPathRequestMatcher("/api/registrations/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR", "REGISTRAR", "STUDENT")
                 
                 // Results management
                 .requestMatchers(new AntPathRequestMatcher("/api/results", "POST")).hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(new AntPathRequestMatcher("/api/results/import", "POST")).hasAnyRole("ADMIN", "INSTRUCTOR")
                 .requestMatchers(new AntPathRequestMatcher("/api/results/**", "PUT")).hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(new AntPathRequestMatcher("/api/results/transcripts/export", "GET")).hasAnyRole("ADMIN", "REGISTRAR")
+                .requestMatchers(new AntPathRequestMatcher("/api/results/transcripts/cache-stats", "GET")).hasRole("ADMIN")
                 .requestMatchers(new AntPathRequestMatcher("/api/results/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR", "STUDENT")
                 
+                // Grade scales and re-grade jobs
+                .requestMatchers(new AntPathRequestMatcher("/api/grade-scales/**")).hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(new AntPathRequestMatcher("/api/analytics/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR")
+                
+                // Ranking endpoints
+                .requestMatchers(new AntPathRequestMatcher("/api/rankings/my", "GET")).hasRole("STUDENT")
+                .requestMatchers(new AntPathRequestMatcher("/api/rankings/**", "GET")).hasAnyRole("ADMIN", "INSTRUCTOR", "REGISTRAR")
+                
                 // All other requests need authentication
                 .anyRequest().authenticated()
             )
+            // Queue registration rushes before any token parsing or database work
+            .addFilterBefore(registrationAdmissionFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Replays need the authenticated principal to scope their keys
+            .addFilterAfter(idempotencyFilter, UsernamePasswordAuthenticationFilter.class)
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
             .build();
     }
@@ -101,6 +146,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("Retry-After", RegistrationAdmissionFilter.TICKET_HEADER, "Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
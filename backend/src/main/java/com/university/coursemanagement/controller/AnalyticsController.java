@@ -0,0 +1,54 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.analytics.Dimension;
+import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AnalyticsController {
+    
+    @Autowired
+    private AnalyticsService analyticsService;
+    
+    @GetMapping("/results")
+    public ResponseEntity<?> queryResults(@RequestParam(defaultValue = "course") String groupBy,
+                                          @RequestParam(required = false) Long courseId,
+                                          @RequestParam(required = false) String examType,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<Dimension> dimensions = new ArrayList<>();
+            for (String name : groupBy.split(",")) {
+                if (!name.isBlank()) {
+                    Dimension dimension = Dimension.parse(name);
+                    if (dimensions.contains(dimension)) {
+                        return ResponseEntity.badRequest().body("Error: Duplicate groupBy dimension " + name.trim());
+                    }
+                    dimensions.add(dimension);
+                }
+            }
+            Result.ExamType type = examType != null ? Result.ExamType.valueOf(examType.toUpperCase()) : null;
+            return ResponseEntity.ok(analyticsService.query(dimensions, courseId, type, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: Unknown dimension or exam type - " + e.getMessage());
+        } catch (ArithmeticException e) {
+            return ResponseEntity.badRequest().body("Error: Too many groups, narrow the groupBy dimensions");
+        }
+    }
+    
+    @GetMapping("/status")
+    public Map<String, Object> getStatus() {
+        return analyticsService.getStatus();
+    }
+}
@@ -7,9 +7,15 @@ import com.university.coursemanagement.entity.Role;
 import com.university.coursemanagement.entity.User;
 import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.security.JwtUtil;
+import com.university.coursemanagement.security.LoginRateLimiter;
+import com.university.coursemanagement.security.PasswordHashingBusyException;
+import com.university.coursemanagement.service.TokenRevocationService;
 import com.university.coursemanagement.service.UserService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -34,8 +40,18 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        long retryAfter = loginRateLimiter.tryAcquire(request.getRemoteAddr(), loginRequest.getUsername());
+        if (retryAfter > 0) {
+            return tooManyAttempts(retryAfter);
+        }
         try {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
@@ -44,37 +60,44 @@ public class AuthController {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
             User userPrincipal = (User) authentication.getPrincipal();
-            
-            Map<String, Object> claims = new HashMap<>();
-            claims.put("role", userPrincipal.getRole().name());
-            claims.put("userId", userPrincipal.getId());
-            
-            String jwt = jwtUtil.generateToken(userPrincipal, claims);
-            
-            // Include student ID in the response if the user is a student
-            Long studentId = null;
-            if (userPrincipal.getStudent() != null) {
-                studentId = userPrincipal.getStudent().getId();
-            }
-            
-            JwtResponse response = new JwtResponse();
-            response.setToken(jwt);
-            response.setId(userPrincipal.getId());
-            response.setUsername(userPrincipal.getUsername());
-            response.setEmail(userPrincipal.getEmail());
-            response.setFirstName(userPrincipal.getFirstName());
-            response.setLastName(userPrincipal.getLastName());
-            response.setRole(userPrincipal.getRole());
-            response.setStudentId(studentId);
+            JwtResponse response = issueTokens(userPrincipal);
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: Invalid username or password!");
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        Claims claims = refreshToken != null ? jwtUtil.getVerifiedClaims(refreshToken) : null;
+        if (claims == null || !jwtUtil.isRefreshToken(claims) || tokenRevocationService.isRevoked(claims.getId())
+                || !(claims.get("userId") instanceof Number userId)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Invalid or expired refresh token");
+        }
+        
+        // The account is re-read here, so a disabled user cannot outlive their access token
+        User user = userService.getUserById(userId.longValue()).orElse(null);
+        if (user == null || !user.isEnabled() || !user.isAccountNonLocked()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Account is no longer active");
+        }
+        
+        // Refresh tokens are single use: only the request that revokes it gets new tokens
+        if (!tokenRevocationService.revoke(claims.getId(), claims.getSubject(), claims.getExpiration())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Invalid or expired refresh token");
+        }
+        return ResponseEntity.ok(issueTokens(user));
+    }
+    
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest signUpRequest) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest signUpRequest, HttpServletRequest request) {
+        long retryAfter = loginRateLimiter.tryAcquire(request.getRemoteAddr(), null);
+        if (retryAfter > 0) {
+            return tooManyAttempts(retryAfter);
+        }
         try {
             if (userService.existsByUsername(signUpRequest.getUsername())) {
                 return ResponseEntity.badRequest().body("Error: Username is already taken!");
@@ -95,13 +118,19 @@ public class AuthController {
             User savedUser = userService.createUser(user);
             
             return ResponseEntity.ok(Map.of("message", "User registered successfully!", "userId", savedUser.getId()));
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
     
     @PostMapping("/register/student")
-    public ResponseEntity<?> registerStudent(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> registerStudent(@RequestBody Map<String, String> request, HttpServletRequest httpRequest) {
+        long retryAfter = loginRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), null);
+        if (retryAfter > 0) {
+            return tooManyAttempts(retryAfter);
+        }
         try {
             String studentId = request.get("studentId");
             String password = request.get("password");
@@ -134,6 +163,8 @@ public class AuthController {
                 "userId", savedUser.getId(),
                 "studentId", studentId
             ));
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -145,7 +176,7 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Error: Not authenticated");
         }
         
-        User user = (User) authentication.getPrincipal();
+        User user = currentUser(authentication);
         
         Map<String, Object> userInfo = new HashMap<>();
         userInfo.put("id", user.getId());
@@ -166,7 +197,7 @@ public class AuthController {
     @GetMapping("/current/student")
     public ResponseEntity<Student> getCurrentUserStudent(Authentication authentication) {
         if (authentication != null && authentication.isAuthenticated()) {
-            User user = (User) authentication.getPrincipal();
+            User user = currentUser(authentication);
             if (user.getStudent() != null) {
                 return ResponseEntity.ok(user.getStudent());
             }
@@ -175,8 +206,70 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(HttpServletRequest request,
+                                        @RequestBody(required = false) Map<String, String> body) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            revoke(authorizationHeader.substring(7));
+        }
+        if (body != null && body.get("refreshToken") != null) {
+            revoke(body.get("refreshToken"));
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok(Map.of("message", "User logged out successfully"));
     }
+    
+    private JwtResponse issueTokens(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", user.getRole().name());
+        claims.put("userId", user.getId());
+        
+        // Include student ID in the response if the user is a student
+        Long studentId = null;
+        if (user.getStudent() != null) {
+            studentId = user.getStudent().getId();
+            claims.put("studentId", studentId);
+        }
+        
+        JwtResponse response = new JwtResponse();
+        response.setToken(jwtUtil.generateToken(user, claims));
+        response.setRefreshToken(jwtUtil.generateRefreshToken(user, user.getId()));
+        response.setExpiresIn(jwtUtil.getAccessExpiration() / 1000);
+        response.setId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setEmail(user.getEmail());
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+        response.setRole(user.getRole());
+        response.setStudentId(studentId);
+        return response;
+    }
+    
+    // Claims-only principals carry ids and role only, so profile endpoints load the full user
+    private User currentUser(Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        if (jwtUtil.isClaimsOnly()) {
+            return (User) userService.loadUserByUsername(user.getUsername());
+        }
+        return user;
+    }
+    
+    private void revoke(String token) {
+        Claims claims = jwtUtil.getVerifiedClaims(token);
+        if (claims != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getSubject(), claims.getExpiration());
+        }
+    }
+    
+    private ResponseEntity<?> tooManyAttempts(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(retryAfterSeconds))
+                .body("Error: Too many attempts, please try again later");
+    }
+    
+    private ResponseEntity<?> hashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body("Error: Sign-in is busy, please try again shortly");
+    }
 }
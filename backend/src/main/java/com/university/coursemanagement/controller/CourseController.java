@@ -1,14 +1,24 @@
 package com.university.coursemanagement.controller;
 
+import com.university.coursemanagement.cache.TranscriptCache;
 import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.Result;
 import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.service.CourseAvailabilityService;
+import com.university.coursemanagement.service.FinalGradeService;
+import com.university.coursemanagement.service.SeatAvailabilityBroadcaster;
+import com.university.coursemanagement.service.SeatReservationService;
+import com.university.coursemanagement.service.WaitlistService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -19,6 +29,24 @@ public class CourseController {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private CourseAvailabilityService courseAvailabilityService;
+    
+    @Autowired
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+    
+    @Autowired
+    private TranscriptCache transcriptCache;
+    
+    @Autowired
+    private FinalGradeService finalGradeService;
+    
     @GetMapping
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
@@ -51,7 +79,16 @@ public class CourseController {
     
     @GetMapping("/available")
     public List<Course> getAvailableCourses() {
-        return courseRepository.findAvailableCourses();
+        return courseAvailabilityService.getAvailableCourses();
+    }
+    
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatChanges() {
+        SseEmitter emitter = seatAvailabilityBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
     }
     
     @GetMapping("/test")
@@ -63,6 +100,7 @@ public class CourseController {
     public ResponseEntity<Course> createCourse(@Valid @RequestBody Course course) {
         try {
             Course savedCourse = courseRepository.save(course);
+            courseAvailabilityService.invalidate();
             return ResponseEntity.status(HttpStatus.CREATED).body(savedCourse);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -83,16 +121,56 @@ public class CourseController {
             course.setMaxStudents(courseDetails.getMaxStudents());
             
             Course updatedCourse = courseRepository.save(course);
+            seatReservationService.evict(id);
+            courseAvailabilityService.invalidate();
+            // A raised capacity may admit waitlisted students
+            waitlistService.seatsFreed(id);
+            // Transcripts embed the course and group by its code; edits are rare enough to drop them all
+            transcriptCache.clear();
             return ResponseEntity.ok(updatedCourse);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
     
+    @GetMapping("/{id}/weights")
+    public ResponseEntity<Map<Result.ExamType, Double>> getAssessmentWeights(@PathVariable Long id) {
+        if (!courseRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(finalGradeService.getWeights(id));
+    }
+    
+    @PutMapping("/{id}/weights")
+    public ResponseEntity<?> updateAssessmentWeights(@PathVariable Long id, @RequestBody Map<Result.ExamType, Double> weights) {
+        if (!courseRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(finalGradeService.replaceWeights(id, weights));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/{id}/finalize")
+    public ResponseEntity<?> finalizeCourse(@PathVariable Long id) {
+        if (!courseRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(finalGradeService.finalizeCourse(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
         if (courseRepository.existsById(id)) {
             courseRepository.deleteById(id);
+            seatReservationService.evict(id);
+            courseAvailabilityService.invalidate();
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,86 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.entity.GradeScale;
+import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.service.GradeScaleService;
+import com.university.coursemanagement.service.GradeScaleService.RegradeJob;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/grade-scales")
+@CrossOrigin(origins = "http://localhost:3000")
+public class GradeScaleController {
+    
+    @Autowired
+    private GradeScaleService gradeScaleService;
+    
+    @GetMapping
+    public List<GradeScale> getAllScales() {
+        return gradeScaleService.getAllScales();
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<GradeScale> getScaleById(@PathVariable Long id) {
+        return gradeScaleService.getScale(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping
+    public ResponseEntity<?> createScale(@Valid @RequestBody GradeScale scale) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(gradeScaleService.createScale(scale));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteScale(@PathVariable Long id) {
+        if (gradeScaleService.deleteScale(id)) {
+            return ResponseEntity.noContent().build();
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/courses/{courseId}/regrade")
+    public ResponseEntity<?> regradeCourse(@PathVariable Long courseId, @RequestBody RegradeRequest request) {
+        try {
+            RegradeJob job = gradeScaleService.startRegrade(courseId, request.getScaleId(),
+                request.getCurveOffset() != null ? request.getCurveOffset() : 0.0, request.getExamType());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<RegradeJob> getRegradeJob(@PathVariable String jobId) {
+        return gradeScaleService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    public static class RegradeRequest {
+        private Long scaleId;
+        private Double curveOffset;
+        private Result.ExamType examType;
+        
+        // Getters and Setters
+        public Long getScaleId() { return scaleId; }
+        public void setScaleId(Long scaleId) { this.scaleId = scaleId; }
+        
+        public Double getCurveOffset() { return curveOffset; }
+        public void setCurveOffset(Double curveOffset) { this.curveOffset = curveOffset; }
+        
+        public Result.ExamType getExamType() { return examType; }
+        public void setExamType(Result.ExamType examType) { this.examType = examType; }
+    }
+}
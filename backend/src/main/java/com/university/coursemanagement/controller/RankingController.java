@@ -0,0 +1,49 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.entity.User;
+import com.university.coursemanagement.service.RankingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rankings")
+@CrossOrigin(origins = "http://localhost:3000")
+public class RankingController {
+    
+    private static final int MAX_LIMIT = 500;
+    
+    @Autowired
+    private RankingService rankingService;
+    
+    @GetMapping("/students/{studentId}")
+    public ResponseEntity<Map<String, Object>> getStudentRanking(@PathVariable Long studentId) {
+        return ResponseEntity.ok(rankingService.getStudentRanking(studentId));
+    }
+    
+    @GetMapping("/top")
+    public List<Map<String, Object>> getTopStudents(@RequestParam(defaultValue = "10") int limit) {
+        return rankingService.getTopStudents(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+    
+    @GetMapping("/courses/{courseId}/top")
+    public List<Map<String, Object>> getTopStudentsInCourse(@PathVariable Long courseId,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return rankingService.getTopStudentsInCourse(courseId, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+    
+    @GetMapping("/my")
+    public ResponseEntity<Map<String, Object>> getCurrentUserRanking(Authentication authentication) {
+        if (authentication != null && authentication.isAuthenticated()) {
+            User user = (User) authentication.getPrincipal();
+            if (user.getStudent() != null) {
+                return ResponseEntity.ok(rankingService.getStudentRanking(user.getStudent().getId()));
+            }
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -1,21 +1,26 @@
 package com.university.coursemanagement.controller;
 
+import com.university.coursemanagement.dto.BulkEnrollmentRow;
+import com.university.coursemanagement.dto.RegistrationPage;
+import com.university.coursemanagement.dto.RegistrationSummary;
 import com.university.coursemanagement.entity.Registration;
-import com.university.coursemanagement.entity.Course;
-import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.entity.User;
 import com.university.coursemanagement.repository.RegistrationRepository;
-import com.university.coursemanagement.repository.CourseRepository;
-import com.university.coursemanagement.repository.StudentRepository;
+import com.university.coursemanagement.service.RegistrationService;
+import com.university.coursemanagement.service.RegistrationService.Outcome;
+import com.university.coursemanagement.service.RegistrationService.RegistrationResult;
+import com.university.coursemanagement.service.WaitlistService;
 import org.springframework.security.core.Authentication;
-import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/registrations")
@@ -26,14 +31,24 @@ public class RegistrationController {
     private RegistrationRepository registrationRepository;
     
     @Autowired
-    private StudentRepository studentRepository;
+    private RegistrationService registrationService;
     
     @Autowired
-    private CourseRepository courseRepository;
+    private WaitlistService waitlistService;
+    
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
     
     @GetMapping
-    public List<Registration> getAllRegistrations() {
-        return registrationRepository.findAll();
+    public RegistrationPage getAllRegistrations(@RequestParam(defaultValue = "0") Long after,
+                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        int limit = clampPageSize(size);
+        return toPage(registrationRepository.findSummariesAfter(after, PageRequest.of(0, limit + 1)), limit);
+    }
+    
+    @GetMapping("/count")
+    public ResponseEntity<Long> countRegistrations() {
+        return ResponseEntity.ok(registrationRepository.count());
     }
     
     @GetMapping("/student/{studentId}")
@@ -54,64 +69,120 @@ public class RegistrationController {
     }
     
     @GetMapping("/course/{courseId}")
-    public List<Registration> getRegistrationsByCourse(@PathVariable Long courseId) {
-        return registrationRepository.findByCourseId(courseId);
+    public RegistrationPage getRegistrationsByCourse(@PathVariable Long courseId,
+                                                     @RequestParam(defaultValue = "0") Long after,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        int limit = clampPageSize(size);
+        return toPage(registrationRepository.findSummariesByCourseAfter(courseId, after, PageRequest.of(0, limit + 1)), limit);
+    }
+    
+    @GetMapping("/{id}/waitlist-position")
+    public ResponseEntity<Map<String, Object>> getWaitlistPosition(@PathVariable Long id) {
+        return registrationRepository.findById(id)
+            .map(registration -> ResponseEntity.ok(Map.<String, Object>of(
+                "status", registration.getStatus(),
+                "position", waitlistService.positionOf(registration))))
+            .orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping
     public ResponseEntity<Registration> createRegistration(@RequestBody RegistrationRequest request) {
-        Optional<Student> student = studentRepository.findById(request.getStudentId());
-        Optional<Course> course = courseRepository.findById(request.getCourseId());
-        
-        if (student.isEmpty() || course.isEmpty()) {
+        if (request.getStudentId() == null || request.getCourseId() == null) {
             return ResponseEntity.badRequest().build();
         }
         
-        // Check if already registered
-        Optional<Registration> existingRegistration = registrationRepository
-            .findByStudentIdAndCourseId(request.getStudentId(), request.getCourseId());
-        
-        if (existingRegistration.isPresent()) {
+        RegistrationResult result;
+        try {
+            result = registrationService.enroll(request.getStudentId(), request.getCourseId());
+        } catch (DataIntegrityViolationException e) {
+            // Already registered for this course
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
         
-        // Check course capacity
-        Long enrolledCount = registrationRepository.countEnrolledStudentsByCourseId(request.getCourseId());
-        if (course.get().getMaxStudents() != null && enrolledCount >= course.get().getMaxStudents()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        switch (result.getOutcome()) {
+            case CREATED:
+                return ResponseEntity.status(HttpStatus.CREATED).body(result.getRegistration());
+            case WAITLISTED:
+                // Course is full; the student is queued and promoted when a seat frees up
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(result.getRegistration());
+            default:
+                return ResponseEntity.badRequest().build();
         }
-        
-        Registration registration = new Registration(student.get(), course.get());
-        Registration savedRegistration = registrationRepository.save(registration);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedRegistration);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkCreateRegistrations(@RequestBody List<RegistrationRequest> requests) {
+        List<BulkEnrollmentRow> rows = toBulkRows(requests);
+        try {
+            return ResponseEntity.ok(registrationService.bulkEnroll(rows));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request registered one of the pairs and the batch rolled back; a second
+            // pass sees that pair as an existing registration and reports it as DUPLICATE
+            rows = toBulkRows(requests);
+            try {
+                return ResponseEntity.ok(registrationService.bulkEnroll(rows));
+            } catch (DataIntegrityViolationException retryFailure) {
+                rows.stream()
+                    .filter(row -> row.getStatus() == BulkEnrollmentRow.Status.CREATED)
+                    .forEach(row -> {
+                        row.setStatus(null);
+                        row.setRegistrationId(null);
+                    });
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "error", "Error: Concurrent registrations conflicted with this batch; nothing was enrolled",
+                    "rows", rows));
+            }
+        }
+    }
+    
+    // Null elements become rows without ids, which bulkEnroll reports as INVALID
+    private List<BulkEnrollmentRow> toBulkRows(List<RegistrationRequest> requests) {
+        List<BulkEnrollmentRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            RegistrationRequest request = requests.get(i);
+            rows.add(request != null
+                ? new BulkEnrollmentRow(i, request.getStudentId(), request.getCourseId())
+                : new BulkEnrollmentRow(i, null, null));
+        }
+        return rows;
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<Registration> updateRegistration(@PathVariable Long id, @RequestBody Registration registrationDetails) {
-        Optional<Registration> optionalRegistration = registrationRepository.findById(id);
+        RegistrationResult result = registrationService.update(id, registrationDetails.getStatus(), registrationDetails.getGrade());
         
-        if (optionalRegistration.isPresent()) {
-            Registration registration = optionalRegistration.get();
-            registration.setStatus(registrationDetails.getStatus());
-            registration.setGrade(registrationDetails.getGrade());
-            
-            Registration updatedRegistration = registrationRepository.save(registration);
-            return ResponseEntity.ok(updatedRegistration);
-        } else {
-            return ResponseEntity.notFound().build();
+        switch (result.getOutcome()) {
+            case UPDATED:
+                return ResponseEntity.ok(result.getRegistration());
+            case COURSE_FULL:
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            default:
+                return ResponseEntity.notFound().build();
         }
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRegistration(@PathVariable Long id) {
-        if (registrationRepository.existsById(id)) {
-            registrationRepository.deleteById(id);
+        if (registrationService.delete(id).getOutcome() == Outcome.DELETED) {
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
         }
     }
     
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    // One extra row is fetched to know whether another page exists
+    private RegistrationPage toPage(List<RegistrationSummary> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new RegistrationPage(rows, null);
+        }
+        List<RegistrationSummary> items = rows.subList(0, limit);
+        return new RegistrationPage(items, items.get(limit - 1).getId());
+    }
+    
     public static class RegistrationRequest {
         private Long studentId;
         private Long courseId;
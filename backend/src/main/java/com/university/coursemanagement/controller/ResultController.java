@@ -1,19 +1,26 @@
 package com.university.coursemanagement.controller;
 
+import com.university.coursemanagement.dto.ResultImportReport;
 import com.university.coursemanagement.entity.Result;
-import com.university.coursemanagement.entity.Course;
-import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.entity.User;
 import com.university.coursemanagement.repository.ResultRepository;
-import com.university.coursemanagement.repository.CourseRepository;
-import com.university.coursemanagement.repository.StudentRepository;
+import com.university.coursemanagement.service.ResultImportService;
+import com.university.coursemanagement.service.ResultService;
+import com.university.coursemanagement.service.TranscriptExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,10 +32,13 @@ public class ResultController {
     private ResultRepository resultRepository;
     
     @Autowired
-    private StudentRepository studentRepository;
+    private ResultService resultService;
+    
+    @Autowired
+    private ResultImportService resultImportService;
     
     @Autowired
-    private CourseRepository courseRepository;
+    private TranscriptExportService transcriptExportService;
     
     @GetMapping
     public List<Result> getAllResults() {
@@ -59,14 +69,54 @@ public class ResultController {
     
     @GetMapping("/student/{studentId}/gpa")
     public ResponseEntity<Double> getStudentGPA(@PathVariable Long studentId) {
-        Double gpa = resultRepository.calculateGPAByStudent(studentId);
-        return ResponseEntity.ok(gpa != null ? gpa : 0.0);
+        return ResponseEntity.ok(resultService.calculateStudentGPA(studentId));
     }
     
     @GetMapping("/student/{studentId}/average")
     public ResponseEntity<Double> getStudentAverage(@PathVariable Long studentId) {
-        Double average = resultRepository.calculateOverallAverageByStudent(studentId);
-        return ResponseEntity.ok(average != null ? average : 0.0);
+        return ResponseEntity.ok(resultService.calculateStudentAverage(studentId));
+    }
+    
+    @GetMapping("/student/{studentId}/transcript")
+    public ResponseEntity<Map<String, Object>> getStudentTranscript(@PathVariable Long studentId) {
+        return ResponseEntity.ok(resultService.getStudentTranscript(studentId));
+    }
+    
+    @GetMapping("/transcripts/cache-stats")
+    public ResponseEntity<Map<String, Object>> getTranscriptCacheStats() {
+        return ResponseEntity.ok(resultService.getTranscriptCacheStats());
+    }
+    
+    @GetMapping("/transcripts/export")
+    public void exportTranscripts(@RequestParam(defaultValue = "ndjson") String format,
+                                  @RequestParam(required = false) List<Long> studentIds,
+                                  HttpServletResponse response) throws IOException {
+        TranscriptExportService.Format exportFormat;
+        try {
+            exportFormat = TranscriptExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unsupported format " + format);
+            return;
+        }
+        
+        if (exportFormat == TranscriptExportService.Format.CSV) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"transcripts.csv\"");
+        } else {
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+        }
+        transcriptExportService.export(response.getOutputStream(), exportFormat, studentIds);
+    }
+    
+    @GetMapping("/my-transcript")
+    public ResponseEntity<Map<String, Object>> getCurrentUserTranscript(Authentication authentication) {
+        if (authentication != null && authentication.isAuthenticated()) {
+            User user = (User) authentication.getPrincipal();
+            if (user.getStudent() != null) {
+                return ResponseEntity.ok(resultService.getStudentTranscript(user.getStudent().getId()));
+            }
+        }
+        return ResponseEntity.notFound().build();
     }
     
     @GetMapping("/my-results")
@@ -86,8 +136,7 @@ public class ResultController {
         if (authentication != null && authentication.isAuthenticated()) {
             User user = (User) authentication.getPrincipal();
             if (user.getStudent() != null) {
-                Double gpa = resultRepository.calculateGPAByStudent(user.getStudent().getId());
-                return ResponseEntity.ok(gpa != null ? gpa : 0.0);
+                return ResponseEntity.ok(resultService.calculateStudentGPA(user.getStudent().getId()));
             }
         }
         return ResponseEntity.notFound().build();
@@ -98,13 +147,17 @@ public class ResultController {
         if (authentication != null && authentication.isAuthenticated()) {
             User user = (User) authentication.getPrincipal();
             if (user.getStudent() != null) {
-                Double average = resultRepository.calculateOverallAverageByStudent(user.getStudent().getId());
-                return ResponseEntity.ok(average != null ? average : 0.0);
+                return ResponseEntity.ok(resultService.calculateStudentAverage(user.getStudent().getId()));
             }
         }
         return ResponseEntity.notFound().build();
     }
     
+    @GetMapping("/course/{courseId}/statistics")
+    public ResponseEntity<Map<String, Object>> getCourseStatistics(@PathVariable Long courseId) {
+        return ResponseEntity.ok(resultService.getCourseStatistics(courseId));
+    }
+    
     @GetMapping("/course/{courseId}/average")
     public ResponseEntity<Double> getCourseAverage(@PathVariable Long courseId) {
         Double average = resultRepository.calculateCourseAverage(courseId);
@@ -113,47 +166,35 @@ public class ResultController {
     
     @PostMapping
     public ResponseEntity<Result> createResult(@RequestBody ResultRequest request) {
-        Optional<Student> student = studentRepository.findById(request.getStudentId());
-        Optional<Course> course = courseRepository.findById(request.getCourseId());
+        Optional<Result> savedResult = resultService.createResult(request.getStudentId(), request.getCourseId(),
+            request.getScore(), request.getExamType(), request.getRemarks(), request.getExamDate());
         
-        if (student.isEmpty() || course.isEmpty()) {
+        return savedResult.map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result))
+                          .orElse(ResponseEntity.badRequest().build());
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResultImportReport> importResults(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
-        
-        Result result = new Result(student.get(), course.get(), request.getScore(), request.getExamType());
-        result.setRemarks(request.getRemarks());
-        if (request.getExamDate() != null) {
-            result.setExamDate(request.getExamDate());
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(resultImportService.importResults(input));
         }
-        
-        Result savedResult = resultRepository.save(result);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedResult);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<Result> updateResult(@PathVariable Long id, @RequestBody ResultRequest request) {
-        Optional<Result> optionalResult = resultRepository.findById(id);
+        Optional<Result> updatedResult = resultService.updateResult(id, request.getScore(), request.getExamType(),
+            request.getRemarks(), request.getExamDate());
         
-        if (optionalResult.isPresent()) {
-            Result result = optionalResult.get();
-            result.setScore(request.getScore());
-            result.setExamType(request.getExamType());
-            result.setRemarks(request.getRemarks());
-            if (request.getExamDate() != null) {
-                result.setExamDate(request.getExamDate());
-            }
-            
-            Result updatedResult = resultRepository.save(result);
-            return ResponseEntity.ok(updatedResult);
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        return updatedResult.map(ResponseEntity::ok)
+                            .orElse(ResponseEntity.notFound().build());
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteResult(@PathVariable Long id) {
-        if (resultRepository.existsById(id)) {
-            resultRepository.deleteById(id);
+        if (resultService.deleteResult(id)) {
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
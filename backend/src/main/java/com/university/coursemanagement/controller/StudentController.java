@@ -1,7 +1,10 @@
 package com.university.coursemanagement.controller;
 
+import com.university.coursemanagement.cache.TranscriptCache;
+import com.university.coursemanagement.entity.LoginIdentifier;
 import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.repository.StudentRepository;
+import com.university.coursemanagement.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -9,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -19,6 +23,12 @@ public class StudentController {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private TranscriptCache transcriptCache;
+    
+    @Autowired
+    private UserService userService;
+    
     @GetMapping
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
@@ -59,6 +69,7 @@ public class StudentController {
         
         if (optionalStudent.isPresent()) {
             Student student = optionalStudent.get();
+            String previousStudentId = student.getStudentId();
             student.setStudentId(studentDetails.getStudentId());
             student.setFirstName(studentDetails.getFirstName());
             student.setLastName(studentDetails.getLastName());
@@ -67,6 +78,10 @@ public class StudentController {
             student.setDateOfBirth(studentDetails.getDateOfBirth());
             
             Student updatedStudent = studentRepository.save(student);
+            if (!Objects.equals(LoginIdentifier.normalize(previousStudentId), LoginIdentifier.normalize(updatedStudent.getStudentId()))) {
+                userService.reindexStudentId(previousStudentId, updatedStudent);
+            }
+            transcriptCache.evict(id);
             return ResponseEntity.ok(updatedStudent);
         } else {
             return ResponseEntity.notFound().build();
@@ -77,6 +92,7 @@ public class StudentController {
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         if (studentRepository.existsById(id)) {
             studentRepository.deleteById(id);
+            transcriptCache.evict(id);
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
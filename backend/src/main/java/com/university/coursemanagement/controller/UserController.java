@@ -1,9 +1,14 @@
 package com.university.coursemanagement.controller;
 
+import com.university.coursemanagement.cache.UserDetailsCache;
 import com.university.coursemanagement.dto.UserDTO;
 import com.university.coursemanagement.entity.Role;
 import com.university.coursemanagement.entity.User;
+import com.university.coursemanagement.security.BoundedPasswordEncoder;
+import com.university.coursemanagement.security.LoginRateLimiter;
+import com.university.coursemanagement.service.TokenRevocationService;
 import com.university.coursemanagement.service.UserService;
+import com.university.coursemanagement.service.UserStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,6 +26,21 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserDTO>> getAllUsers() {
@@ -54,14 +74,18 @@ public class UserController {
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Long>> getUserStats() {
-        Map<String, Long> stats = Map.of(
-            "totalUsers", (long) userService.getAllUsers().size(),
-            "admins", userService.countUsersByRole(Role.ADMIN),
-            "instructors", userService.countUsersByRole(Role.INSTRUCTOR),
-            "students", userService.countUsersByRole(Role.STUDENT),
-            "registrars", userService.countUsersByRole(Role.REGISTRAR)
-        );
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(userStatsService.getStats());
+    }
+    
+    @GetMapping("/auth-metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAuthMetrics() {
+        return ResponseEntity.ok(Map.of(
+            "passwordHashing", passwordEncoder.stats(),
+            "rateLimiter", loginRateLimiter.stats(),
+            "tokenRevocation", tokenRevocationService.stats(),
+            "userCache", userDetailsCache.stats()
+        ));
     }
     
     @PutMapping("/{id}")
@@ -0,0 +1,62 @@
+package com.university.coursemanagement.dto;
+
+public class BulkEnrollmentRow {
+    
+    public enum Status {
+        CREATED, DUPLICATE, STUDENT_NOT_FOUND, COURSE_NOT_FOUND, COURSE_FULL, INVALID
+    }
+    
+    private int index;
+    private Long studentId;
+    private Long courseId;
+    private Status status;
+    private Long registrationId;
+    
+    public BulkEnrollmentRow() {}
+    
+    public BulkEnrollmentRow(int index, Long studentId, Long courseId) {
+        this.index = index;
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getRegistrationId() {
+        return registrationId;
+    }
+    
+    public void setRegistrationId(Long registrationId) {
+        this.registrationId = registrationId;
+    }
+}
@@ -5,6 +5,8 @@ import com.university.coursemanagement.entity.Role;
 public class JwtResponse {
     
     private String token;
+    private String refreshToken;
+    private long expiresIn;
     private String type = "Bearer";
     private Long id;
     private String username;
@@ -36,6 +38,23 @@ public class JwtResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    // Access token lifetime in seconds
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public String getType() {
         return type;
     }
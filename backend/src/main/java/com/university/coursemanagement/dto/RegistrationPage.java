@@ -0,0 +1,33 @@
+package com.university.coursemanagement.dto;
+
+import java.util.List;
+
+public class RegistrationPage {
+    private List<RegistrationSummary> items;
+    
+    // Id to pass as ?after= for the next page, null on the last page
+    private Long nextCursor;
+    
+    public RegistrationPage() {}
+    
+    public RegistrationPage(List<RegistrationSummary> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<RegistrationSummary> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<RegistrationSummary> items) {
+        this.items = items;
+    }
+    
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
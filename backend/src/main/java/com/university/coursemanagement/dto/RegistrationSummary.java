@@ -0,0 +1,119 @@
+package com.university.coursemanagement.dto;
+
+import com.university.coursemanagement.entity.Registration.RegistrationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model for registration listings, built directly by a JPQL constructor
+ * expression so no Registration, Student or Course entities are hydrated.
+ */
+public class RegistrationSummary {
+    private Long id;
+    private RegistrationStatus status;
+    private String grade;
+    private LocalDateTime registrationDate;
+    private Long studentId;
+    private String studentCode;
+    private String studentName;
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+    
+    public RegistrationSummary() {}
+    
+    public RegistrationSummary(Long id, RegistrationStatus status, String grade, LocalDateTime registrationDate,
+                               Long studentId, String studentCode, String firstName, String lastName,
+                               Long courseId, String courseCode, String courseTitle) {
+        this.id = id;
+        this.status = status;
+        this.grade = grade;
+        this.registrationDate = registrationDate;
+        this.studentId = studentId;
+        this.studentCode = studentCode;
+        this.studentName = firstName + " " + lastName;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseTitle = courseTitle;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public RegistrationStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(RegistrationStatus status) {
+        this.status = status;
+    }
+    
+    public String getGrade() {
+        return grade;
+    }
+    
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+    
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+    
+    public void setRegistrationDate(LocalDateTime registrationDate) {
+        this.registrationDate = registrationDate;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getStudentCode() {
+        return studentCode;
+    }
+    
+    public void setStudentCode(String studentCode) {
+        this.studentCode = studentCode;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public String getCourseCode() {
+        return courseCode;
+    }
+    
+    public void setCourseCode(String courseCode) {
+        this.courseCode = courseCode;
+    }
+    
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+    
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+}
@@ -0,0 +1,36 @@
+package com.university.coursemanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultImportReport {
+    
+    public static class LineError {
+        private final long line;
+        private final String message;
+        
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+        
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+    
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private final List<LineError> errors = new ArrayList<>();
+    
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    
+    public List<LineError> getErrors() { return errors; }
+}
@@ -0,0 +1,85 @@
+package com.university.coursemanagement.dto;
+
+import com.university.coursemanagement.entity.Result.Grade;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ScoreStatistics {
+    
+    private static final double[] PERCENTILES = {10, 25, 50, 75, 90, 95};
+    
+    private static final int HISTOGRAM_BINS = 10;
+    
+    private int count;
+    private double mean;
+    private double median;
+    private double standardDeviation;
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles = new LinkedHashMap<>();
+    private Map<String, Integer> histogram = new LinkedHashMap<>();
+    private Map<Grade, Integer> gradeDistribution = new EnumMap<>(Grade.class);
+    
+    /**
+     * Computes everything from the first {@code count} scores in one sort plus one pass.
+     * The array is sorted in place.
+     */
+    public static ScoreStatistics of(double[] scores, int count, int[] gradeCounts) {
+        ScoreStatistics stats = new ScoreStatistics();
+        stats.count = count;
+        int[] bins = new int[HISTOGRAM_BINS];
+        if (count > 0) {
+            Arrays.sort(scores, 0, count);
+            double sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += scores[i];
+                bins[Math.min(HISTOGRAM_BINS - 1, Math.max(0, (int) (scores[i] / (100.0 / HISTOGRAM_BINS))))]++;
+            }
+            stats.mean = sum / count;
+            double squares = 0;
+            for (int i = 0; i < count; i++) {
+                double diff = scores[i] - stats.mean;
+                squares += diff * diff;
+            }
+            stats.standardDeviation = Math.sqrt(squares / count);
+            stats.min = scores[0];
+            stats.max = scores[count - 1];
+            stats.median = percentile(scores, count, 50);
+            for (double p : PERCENTILES) {
+                stats.percentiles.put("p" + (int) p, percentile(scores, count, p));
+            }
+        }
+        int width = 100 / HISTOGRAM_BINS;
+        for (int i = 0; i < HISTOGRAM_BINS; i++) {
+            stats.histogram.put(i * width + "-" + (i == HISTOGRAM_BINS - 1 ? 100 : (i + 1) * width), bins[i]);
+        }
+        Grade[] grades = Grade.values();
+        for (int i = 0; i < grades.length; i++) {
+            if (gradeCounts[i] > 0) {
+                stats.gradeDistribution.put(grades[i], gradeCounts[i]);
+            }
+        }
+        return stats;
+    }
+    
+    // Linear interpolation between closest ranks
+    private static double percentile(double[] sorted, int count, double p) {
+        double rank = p / 100.0 * (count - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+    
+    public int getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getMedian() { return median; }
+    public double getStandardDeviation() { return standardDeviation; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+    public Map<String, Double> getPercentiles() { return percentiles; }
+    public Map<String, Integer> getHistogram() { return histogram; }
+    public Map<Grade, Integer> getGradeDistribution() { return gradeDistribution; }
+}
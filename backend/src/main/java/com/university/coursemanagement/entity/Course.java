@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -34,6 +36,12 @@ public class Course {
     @Column(name = "max_students")
     private Integer maxStudents;
     
+    // Seats currently held by ENROLLED registrations, maintained by SeatReservationService
+    @Column(name = "enrolled_count", nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer enrolledCount = 0;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -61,6 +69,7 @@ public class Course {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        enrolledCount = 0;
     }
     
     @PreUpdate
@@ -125,6 +134,14 @@ public class Course {
         this.maxStudents = maxStudents;
     }
     
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+    
+    public void setEnrolledCount(Integer enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
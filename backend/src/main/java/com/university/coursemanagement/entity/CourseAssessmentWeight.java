@@ -0,0 +1,44 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "course_assessment_weights",
+       uniqueConstraints = @UniqueConstraint(name = "uk_assessment_weight_course_type", columnNames = {"course_id", "exam_type"}))
+public class CourseAssessmentWeight {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "exam_type", nullable = false)
+    private Result.ExamType examType;
+    
+    @Column(nullable = false)
+    private Double weight;
+    
+    public CourseAssessmentWeight() {}
+    
+    public CourseAssessmentWeight(Long courseId, Result.ExamType examType, Double weight) {
+        this.courseId = courseId;
+        this.examType = examType;
+        this.weight = weight;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public Result.ExamType getExamType() { return examType; }
+    public void setExamType(Result.ExamType examType) { this.examType = examType; }
+    
+    public Double getWeight() { return weight; }
+    public void setWeight(Double weight) { this.weight = weight; }
+}
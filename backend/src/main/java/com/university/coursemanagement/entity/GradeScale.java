@@ -0,0 +1,71 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "grade_scales", indexes = @Index(name = "idx_grade_scale_course", columnList = "course_id"))
+public class GradeScale {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank(message = "Scale name is required")
+    @Column(nullable = false)
+    private String name;
+    
+    // Optional label such as "2024-FALL"; scales are looked up by course
+    private String term;
+    
+    // Null for a university-wide scale
+    @Column(name = "course_id")
+    private Long courseId;
+    
+    // The university-wide scale used by courses without their own
+    @Column(name = "is_default", nullable = false)
+    private boolean defaultScale;
+    
+    // Minimum score (inclusive) for each grade; scores below every threshold get F
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "grade_scale_thresholds", joinColumns = @JoinColumn(name = "grade_scale_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "grade")
+    @Column(name = "min_score", nullable = false)
+    private Map<Result.Grade, Double> thresholds = new EnumMap<>(Result.Grade.class);
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public GradeScale() {}
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+    
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    
+    public boolean isDefaultScale() { return defaultScale; }
+    public void setDefaultScale(boolean defaultScale) { this.defaultScale = defaultScale; }
+    
+    public Map<Result.Grade, Double> getThresholds() { return thresholds; }
+    public void setThresholds(Map<Result.Grade, Double> thresholds) { this.thresholds = thresholds; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
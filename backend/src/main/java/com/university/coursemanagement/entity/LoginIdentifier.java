@@ -0,0 +1,37 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Maps every name a user can sign in with (username, and student ID for students)
+ * to the user, so a principal resolves with a single primary-key lookup.
+ */
+@Entity
+@Table(name = "login_identifiers", indexes = @Index(name = "idx_login_identifiers_user", columnList = "user_id"))
+public class LoginIdentifier {
+    
+    @Id
+    @Column(name = "identifier", length = 100)
+    private String identifier;
+    
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    public LoginIdentifier() {}
+    
+    public LoginIdentifier(String identifier, User user) {
+        this.identifier = normalize(identifier);
+        this.user = user;
+    }
+    
+    public static String normalize(String identifier) {
+        return identifier == null ? null : identifier.trim();
+    }
+    
+    public String getIdentifier() { return identifier; }
+    public void setIdentifier(String identifier) { this.identifier = normalize(identifier); }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+}
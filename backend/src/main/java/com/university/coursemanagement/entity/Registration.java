@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_registration_student_course", columnNames = {"student_id", "course_id"}),
+       indexes = @Index(name = "idx_registration_course_id", columnList = "course_id, id"))
 public class Registration {
     
+    // Sequence-backed ids let Hibernate batch inserts; seed rows in data.sql stay below initialValue
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registrations_seq", initialValue = 1000, allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.EAGER)
@@ -27,6 +31,10 @@ public class Registration {
     
     private String grade;
     
+    // Weighted final score written when the course is finalized
+    @Column(name = "final_score")
+    private Double finalScore;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -114,6 +122,14 @@ public class Registration {
         this.grade = grade;
     }
     
+    public Double getFinalScore() {
+        return finalScore;
+    }
+    
+    public void setFinalScore(Double finalScore) {
+        this.finalScore = finalScore;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -8,7 +8,11 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "results")
+@Table(name = "results", indexes = {
+    @Index(name = "idx_result_student_exam_date", columnList = "student_id, exam_date"),
+    @Index(name = "idx_result_course_exam_type", columnList = "course_id, exam_type"),
+    @Index(name = "idx_result_student_course_exam_type", columnList = "student_id, course_id, exam_type")
+})
 public class Result {
     
     @Id
@@ -30,10 +34,19 @@ public class Result {
     @DecimalMax(value = "100.0", message = "Score must not exceed 100")
     private Double score;
     
+    // Mark as entered, kept while a re-grade curve is applied to score; null when score is uncurved
+    @Column(name = "raw_score")
+    private Double rawScore;
+    
     @Enumerated(EnumType.STRING)
     private Grade grade;
     
+    // Grade.getGpaValue() of grade, stored so GPA queries are a plain AVG/SUM
+    @Column(name = "grade_points")
+    private Double gradePoints;
+    
     @Enumerated(EnumType.STRING)
+    @Column(name = "exam_type")
     private ExamType examType;
     
     private String remarks;
@@ -93,6 +106,7 @@ public class Result {
         this.score = score;
         this.examType = examType;
         this.grade = Grade.fromScore(score);
+        this.gradePoints = grade.getGpaValue();
         this.examDate = LocalDateTime.now();
     }
     
@@ -103,14 +117,17 @@ public class Result {
         if (grade == null && score != null) {
             grade = Grade.fromScore(score);
         }
+        gradePoints = grade != null ? grade.getGpaValue() : null;
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        if (score != null) {
+        // Grades may come from a course grade scale, so only fill in a missing one
+        if (grade == null && score != null) {
             grade = Grade.fromScore(score);
         }
+        gradePoints = grade != null ? grade.getGpaValue() : null;
     }
     
     // Getters and Setters
@@ -127,12 +144,21 @@ public class Result {
     public void setScore(Double score) { 
         this.score = score;
         if (score != null) {
-            this.grade = Grade.fromScore(score);
+            setGrade(Grade.fromScore(score));
         }
     }
     
+    public Double getRawScore() { return rawScore; }
+    public void setRawScore(Double rawScore) { this.rawScore = rawScore; }
+    
     public Grade getGrade() { return grade; }
-    public void setGrade(Grade grade) { this.grade = grade; }
+    public void setGrade(Grade grade) {
+        this.grade = grade;
+        this.gradePoints = grade != null ? grade.getGpaValue() : null;
+    }
+    
+    public Double getGradePoints() { return gradePoints; }
+    public void setGradePoints(Double gradePoints) { this.gradePoints = gradePoints; }
     
     public ExamType getExamType() { return examType; }
     public void setExamType(ExamType examType) { this.examType = examType; }
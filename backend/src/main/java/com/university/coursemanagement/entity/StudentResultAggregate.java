@@ -0,0 +1,68 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals over a student's results, kept in step with every insert, rescore
+ * and delete so GPA and average reads never have to scan the results table.
+ */
+@Entity
+@Table(name = "student_result_aggregates")
+public class StudentResultAggregate {
+    
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Column(name = "result_count", nullable = false)
+    private long resultCount;
+    
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+    
+    @Column(name = "grade_point_sum", nullable = false)
+    private double gradePointSum;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public StudentResultAggregate() {}
+    
+    public StudentResultAggregate(Long studentId, long resultCount, double scoreSum, double gradePointSum) {
+        this.studentId = studentId;
+        this.resultCount = resultCount;
+        this.scoreSum = scoreSum;
+        this.gradePointSum = gradePointSum;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public double getGpa() {
+        return resultCount > 0 ? gradePointSum / resultCount : 0.0;
+    }
+    
+    public double getAverage() {
+        return resultCount > 0 ? scoreSum / resultCount : 0.0;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+    
+    public long getResultCount() { return resultCount; }
+    public void setResultCount(long resultCount) { this.resultCount = resultCount; }
+    
+    public double getScoreSum() { return scoreSum; }
+    public void setScoreSum(double scoreSum) { this.scoreSum = scoreSum; }
+    
+    public double getGradePointSum() { return gradePointSum; }
+    public void setGradePointSum(double gradePointSum) { this.gradePointSum = gradePointSum; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,25 @@
+package com.university.coursemanagement.event;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that inserted, rescored or deleted results for a
+ * student, naming the courses those results belong to.
+ */
+public class ResultsChangedEvent {
+    private final Long studentId;
+    private final Set<Long> courseIds;
+    
+    public ResultsChangedEvent(Long studentId, Set<Long> courseIds) {
+        this.studentId = studentId;
+        this.courseIds = courseIds;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Set<Long> getCourseIds() {
+        return courseIds;
+    }
+}
@@ -0,0 +1,23 @@
+package com.university.coursemanagement.event;
+
+/**
+ * Published inside the transaction that changed a course's enrolled seat count.
+ * Listeners should use @TransactionalEventListener so they only see committed changes.
+ */
+public class SeatsChangedEvent {
+    private final Long courseId;
+    private final int delta;
+    
+    public SeatsChangedEvent(Long courseId, int delta) {
+        this.courseId = courseId;
+        this.delta = delta;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public int getDelta() {
+        return delta;
+    }
+}
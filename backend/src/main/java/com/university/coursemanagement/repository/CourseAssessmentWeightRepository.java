@@ -0,0 +1,20 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.CourseAssessmentWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseAssessmentWeightRepository extends JpaRepository<CourseAssessmentWeight, Long> {
+    
+    List<CourseAssessmentWeight> findByCourseId(Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM CourseAssessmentWeight w WHERE w.courseId = :courseId")
+    int deleteByCourse(@Param("courseId") Long courseId);
+}
@@ -2,6 +2,7 @@ package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,6 +22,26 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c WHERE c.credits >= :minCredits AND c.credits <= :maxCredits")
     List<Course> findByCreditsBetween(@Param("minCredits") Integer minCredits, @Param("maxCredits") Integer maxCredits);
     
-    @Query("SELECT c FROM Course c LEFT JOIN c.registrations r GROUP BY c.id HAVING COUNT(r) < c.maxStudents OR c.maxStudents IS NULL")
+    @Query("SELECT c.code, c.id FROM Course c")
+    List<Object[]> findAllCourseCodes();
+    
+    @Query("SELECT c.id, c.enrolledCount FROM Course c")
+    List<Object[]> findEnrolledCounts();
+    
+    @Query("SELECT c FROM Course c WHERE c.maxStudents IS NULL OR c.enrolledCount < c.maxStudents ORDER BY c.id")
     List<Course> findAvailableCourses();
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount + :seats " +
+           "WHERE c.id = :courseId AND (c.maxStudents IS NULL OR c.enrolledCount + :seats <= c.maxStudents)")
+    int reserveSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = c.enrolledCount - :seats WHERE c.id = :courseId AND c.enrolledCount >= :seats")
+    int releaseSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+    
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledCount = " +
+           "(SELECT COUNT(r) FROM Registration r WHERE r.course = c AND r.status = 'ENROLLED')")
+    int recountEnrolledSeats();
 }
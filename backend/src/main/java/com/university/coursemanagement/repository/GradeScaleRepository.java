@@ -0,0 +1,24 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.GradeScale;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GradeScaleRepository extends JpaRepository<GradeScale, Long> {
+    
+    List<GradeScale> findByCourseIdOrderByIdDesc(Long courseId);
+    
+    Optional<GradeScale> findFirstByCourseIdOrderByIdDesc(Long courseId);
+    
+    Optional<GradeScale> findFirstByDefaultScaleTrueOrderByIdDesc();
+    
+    @Modifying
+    @Query("UPDATE GradeScale g SET g.defaultScale = false WHERE g.defaultScale = true")
+    int clearDefault();
+}
@@ -0,0 +1,47 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.LoginIdentifier;
+import com.university.coursemanagement.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LoginIdentifierRepository extends JpaRepository<LoginIdentifier, String> {
+    
+    @Query("SELECT u FROM LoginIdentifier li JOIN li.user u LEFT JOIN FETCH u.student WHERE li.identifier = :identifier")
+    Optional<User> findUserByIdentifier(@Param("identifier") String identifier);
+    
+    @Modifying
+    @Query("DELETE FROM LoginIdentifier li WHERE li.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    // Usernames take precedence over student IDs: reassign identifiers indexed as another account's student ID
+    @Modifying
+    @Query(value = "UPDATE login_identifiers SET user_id = " +
+           "(SELECT MIN(u.id) FROM users u WHERE TRIM(u.username) = login_identifiers.identifier) " +
+           "WHERE EXISTS (SELECT 1 FROM users u WHERE TRIM(u.username) = login_identifiers.identifier) " +
+           "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = login_identifiers.user_id " +
+           "AND TRIM(u.username) = login_identifiers.identifier)",
+           nativeQuery = true)
+    int claimUsernames();
+    
+    // Usernames take precedence over student IDs, so they are indexed first
+    @Modifying
+    @Query(value = "INSERT INTO login_identifiers (identifier, user_id) " +
+           "SELECT TRIM(u.username), u.id FROM users u " +
+           "WHERE NOT EXISTS (SELECT 1 FROM login_identifiers li WHERE li.identifier = TRIM(u.username))",
+           nativeQuery = true)
+    int indexMissingUsernames();
+    
+    @Modifying
+    @Query(value = "INSERT INTO login_identifiers (identifier, user_id) " +
+           "SELECT TRIM(s.student_id), u.id FROM users u JOIN students s ON s.id = u.student_id " +
+           "WHERE NOT EXISTS (SELECT 1 FROM login_identifiers li WHERE li.identifier = TRIM(s.student_id))",
+           nativeQuery = true)
+    int indexMissingStudentIds();
+}
@@ -1,12 +1,16 @@
 package com.university.coursemanagement.repository;
 
+import com.university.coursemanagement.dto.RegistrationSummary;
 import com.university.coursemanagement.entity.Registration;
 import com.university.coursemanagement.entity.Registration.RegistrationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +30,37 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.course.id = :courseId AND r.status = 'ENROLLED'")
     Long countEnrolledStudentsByCourseId(@Param("courseId") Long courseId);
+    
+    @Query("SELECT r.student.id, r.course.id FROM Registration r WHERE r.student.id IN :studentIds AND r.course.id IN :courseIds")
+    List<Object[]> findExistingPairs(@Param("studentIds") Collection<Long> studentIds, @Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT r FROM Registration r WHERE r.course.id = :courseId AND r.status = 'PENDING' ORDER BY r.registrationDate, r.id")
+    List<Registration> findWaitlist(@Param("courseId") Long courseId, Pageable pageable);
+    
+    @Query("SELECT COUNT(r) FROM Registration r WHERE r.course.id = :courseId AND r.status = 'PENDING' " +
+           "AND (r.registrationDate < :registrationDate OR (r.registrationDate = :registrationDate AND r.id < :id))")
+    long countWaitlistAhead(@Param("courseId") Long courseId, @Param("registrationDate") LocalDateTime registrationDate, @Param("id") Long id);
+    
+    @Query("SELECT r.id, r.student.id FROM Registration r WHERE r.course.id = :courseId AND r.status = 'ENROLLED' ORDER BY r.id")
+    List<Object[]> findEnrolledStudentPairs(@Param("courseId") Long courseId);
+    
+    @Query("SELECT DISTINCT r.course.id FROM Registration r WHERE r.status = 'PENDING'")
+    List<Long> findCourseIdsWithWaitlist();
+    
+    @Query("SELECT DISTINCT r.course.id FROM Registration r WHERE r.status = 'PENDING' AND r.course.id IN :courseIds")
+    List<Long> findCourseIdsWithWaitlist(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Registration r " +
+           "WHERE r.course.id = :courseId AND r.status = 'PENDING'")
+    boolean hasWaitlist(@Param("courseId") Long courseId);
+    
+    @Query("SELECT new com.university.coursemanagement.dto.RegistrationSummary(r.id, r.status, r.grade, r.registrationDate, " +
+           "s.id, s.studentId, s.firstName, s.lastName, c.id, c.code, c.title) " +
+           "FROM Registration r JOIN r.student s JOIN r.course c WHERE r.id > :afterId ORDER BY r.id")
+    List<RegistrationSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.university.coursemanagement.dto.RegistrationSummary(r.id, r.status, r.grade, r.registrationDate, " +
+           "s.id, s.studentId, s.firstName, s.lastName, c.id, c.code, c.title) " +
+           "FROM Registration r JOIN r.student s JOIN r.course c WHERE c.id = :courseId AND r.id > :afterId ORDER BY r.id")
+    List<RegistrationSummary> findSummariesByCourseAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable pageable);
 }
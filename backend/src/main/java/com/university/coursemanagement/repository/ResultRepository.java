@@ -3,16 +3,25 @@ package com.university.coursemanagement.repository;
 import com.university.coursemanagement.entity.Result;
 import com.university.coursemanagement.entity.Result.ExamType;
 import com.university.coursemanagement.entity.Result.Grade;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ResultRepository extends JpaRepository<Result, Long> {
     
+    // Row lock for edits, so they serialize with re-grade writes and compute aggregate deltas from current values
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Result r WHERE r.id = :id")
+    Optional<Result> findByIdForUpdate(@Param("id") Long id);
+    
     List<Result> findByStudentId(Long studentId);
     
     List<Result> findByCourseId(Long courseId);
@@ -34,21 +43,36 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     @Query("SELECT AVG(r.score) FROM Result r WHERE r.course.id = :courseId")
     Double calculateCourseAverage(@Param("courseId") Long courseId);
     
-    @Query("SELECT AVG(CASE " +
-           "WHEN r.grade = 'A_PLUS' THEN 4.0 " +
-           "WHEN r.grade = 'A' THEN 4.0 " +
-           "WHEN r.grade = 'A_MINUS' THEN 3.7 " +
-           "WHEN r.grade = 'B_PLUS' THEN 3.3 " +
-           "WHEN r.grade = 'B' THEN 3.0 " +
-           "WHEN r.grade = 'B_MINUS' THEN 2.7 " +
-           "WHEN r.grade = 'C_PLUS' THEN 2.3 " +
-           "WHEN r.grade = 'C' THEN 2.0 " +
-           "WHEN r.grade = 'C_MINUS' THEN 1.7 " +
-           "WHEN r.grade = 'D_PLUS' THEN 1.3 " +
-           "WHEN r.grade = 'D' THEN 1.0 " +
-           "ELSE 0.0 END) FROM Result r WHERE r.student.id = :studentId")
+    @Query("SELECT AVG(r.gradePoints) FROM Result r WHERE r.student.id = :studentId")
     Double calculateGPAByStudent(@Param("studentId") Long studentId);
     
+    // Scalar columns only, so course statistics never materialize Result, Student or Course
+    @Query("SELECT r.score, r.examType, r.grade FROM Result r WHERE r.course.id = :courseId AND r.score IS NOT NULL")
+    List<Object[]> findScoresByCourse(@Param("courseId") Long courseId);
+    
+    @Query("SELECT AVG(r.score) FROM Result r WHERE r.student.id = :studentId AND r.course.id = :courseId")
+    Double calculateAverageByStudentAndCourse(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+    
+    @Query("SELECT r.course.id, r.student.id, AVG(r.score) FROM Result r GROUP BY r.course.id, r.student.id")
+    List<Object[]> averageByCourseAndStudent();
+    
+    @Query("SELECT r.student.id, r.examType, AVG(r.score) FROM Result r WHERE r.course.id = :courseId " +
+           "GROUP BY r.student.id, r.examType")
+    List<Object[]> averageByStudentAndExamType(@Param("courseId") Long courseId);
+    
+    @Query("SELECT COUNT(r) FROM Result r WHERE r.course.id = :courseId AND (:examType IS NULL OR r.examType = :examType)")
+    long countForGrading(@Param("courseId") Long courseId, @Param("examType") ExamType examType);
+    
+    @Query("SELECT r.id, r.student.id, r.score, r.grade, r.gradePoints, r.rawScore FROM Result r WHERE r.course.id = :courseId " +
+           "AND (:examType IS NULL OR r.examType = :examType) AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findForGradingAfter(@Param("courseId") Long courseId,
+                                       @Param("examType") ExamType examType,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    @Query("SELECT r.student.id, COUNT(r), SUM(r.score), SUM(r.gradePoints) FROM Result r GROUP BY r.student.id")
+    List<Object[]> summarizeByStudent();
+    
     @Query("SELECT r FROM Result r WHERE r.student.id = :studentId ORDER BY r.examDate DESC")
     List<Result> findRecentResultsByStudent(@Param("studentId") Long studentId);
 }
@@ -20,4 +20,7 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     @Query("SELECT s FROM Student s WHERE CONCAT(s.firstName, ' ', s.lastName) LIKE %:fullName%")
     List<Student> findByFullNameContaining(@Param("fullName") String fullName);
+    
+    @Query("SELECT s.studentId, s.id FROM Student s")
+    List<Object[]> findAllStudentCodes();
 }
@@ -0,0 +1,22 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.StudentResultAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentResultAggregateRepository extends JpaRepository<StudentResultAggregate, Long> {
+    
+    // Native so the deltas bind as plain doubles; Hibernate's cast(? as float($p)) does not parse on H2
+    @Modifying
+    @Query(value = "UPDATE student_result_aggregates SET result_count = result_count + :count, " +
+           "score_sum = score_sum + :scoreDelta, grade_point_sum = grade_point_sum + :gradePointDelta, " +
+           "updated_at = CURRENT_TIMESTAMP WHERE student_id = :studentId", nativeQuery = true)
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("count") long count,
+                   @Param("scoreDelta") double scoreDelta,
+                   @Param("gradePointDelta") double gradePointDelta);
+}
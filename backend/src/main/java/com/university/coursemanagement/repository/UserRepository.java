@@ -32,6 +32,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(@Param("role") Role role);
     
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
+    
     // Student-specific methods
     @Query("SELECT u FROM User u WHERE u.student.studentId = :studentId")
     Optional<User> findByStudentId(@Param("studentId") String studentId);
@@ -0,0 +1,158 @@
+package com.university.coursemanagement.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a CPU-heavy {@link PasswordEncoder} on a small dedicated pool so a login burst
+ * cannot occupy every servlet thread with BCrypt. Verifications (logins) are served
+ * ahead of encodes (account provisioning), and once the backlog reaches maxQueue new
+ * work is refused with {@link PasswordHashingBusyException} instead of queueing.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    public enum Priority {
+        LOGIN, PROVISIONING
+    }
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int maxQueue;
+    private final long timeoutMs;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger peakPending = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int maxQueue, long timeoutMs) {
+        this.delegate = delegate;
+        this.threads = threads;
+        this.maxQueue = maxQueue;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(Priority.PROVISIONING, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(Priority.LOGIN, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public Map<String, Object> stats() {
+        long done = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", threads);
+        stats.put("maxQueue", maxQueue);
+        stats.put("pending", pending.get());
+        stats.put("peakPending", peakPending.get());
+        stats.put("active", executor.getActiveCount());
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("averageHashMs", done == 0 ? 0.0 : hashNanos.sum() / 1e6 / done);
+        stats.put("averageQueueWaitMs", done == 0 ? 0.0 : waitNanos.sum() / 1e6 / done);
+        return stats;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Priority priority, Callable<T> work) {
+        int depth = pending.incrementAndGet();
+        if (depth > threads + maxQueue) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new PasswordHashingBusyException(estimateRetryAfterSeconds(depth));
+        }
+        peakPending.accumulateAndGet(depth, Math::max);
+
+        long queuedAt = System.nanoTime();
+        PrioritizedTask<T> task = new PrioritizedTask<>(priority, sequence.incrementAndGet(), () -> {
+            long started = System.nanoTime();
+            waitNanos.add(started - queuedAt);
+            try {
+                return work.call();
+            } finally {
+                hashNanos.add(System.nanoTime() - started);
+                completed.increment();
+            }
+        });
+        try {
+            executor.execute(task);
+            return task.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(false);
+            timedOut.increment();
+            throw new PasswordHashingBusyException(estimateRetryAfterSeconds(pending.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private long estimateRetryAfterSeconds(int depth) {
+        long done = completed.sum();
+        double averageMs = done == 0 ? 100.0 : hashNanos.sum() / 1e6 / done;
+        return Math.max(1, (long) Math.ceil(depth * averageMs / threads / 1000.0));
+    }
+
+    private static final class PrioritizedTask<T> extends FutureTask<T> implements Comparable<PrioritizedTask<?>> {
+        private final Priority priority;
+        private final long sequence;
+
+        PrioritizedTask(Priority priority, long sequence, Callable<T> work) {
+            super(work);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.service.IdempotencyService;
+import com.university.coursemanagement.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Honours the Idempotency-Key header on registration and result creation. Keys are
+ * scoped to the authenticated user and endpoint; a replay with the same body gets the
+ * stored response without reaching the controller, a different body under the same
+ * key gets 422, and a concurrent duplicate gets 409.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/registrations", "/api/results");
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+            || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+            || !IDEMPOTENT_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String clientKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (authentication == null || clientKey.isEmpty()) {
+            // Let authorization reject it as usual
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (clientKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key is too long");
+            return;
+        }
+
+        String key = authentication.getName() + ":" + request.getServletPath() + ":" + clientKey;
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+        StoredResponse stored = idempotencyService.find(key);
+        if (stored != null) {
+            if (stored.getRequestHash() != null && !stored.getRequestHash().equals(requestHash)) {
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key was already used for a different request");
+                return;
+            }
+            replay(response, stored);
+            return;
+        }
+
+        if (!idempotencyService.begin(key)) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this Idempotency-Key is still in progress");
+            return;
+        }
+        try {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+
+            // Only successful writes are remembered; a rejected request may be corrected and retried
+            if (wrapper.getStatus() >= 200 && wrapper.getStatus() < 300) {
+                idempotencyService.store(key, new StoredResponse(requestHash, wrapper.getStatus(), wrapper.getContentType(),
+                    new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)));
+            }
+            wrapper.copyBodyToResponse();
+        } finally {
+            idempotencyService.finish(key);
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatusCode());
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.getBody() != null && !stored.getBody().isEmpty()) {
+            response.setContentType(stored.getContentType() != null ? stored.getContentType() : MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(stored.getBody());
+        }
+    }
+
+    // The body is read up front to hash it, so the controller is handed a re-readable copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() { return input.available() == 0; }
+
+                @Override
+                public boolean isReady() { return true; }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() { return input.read(); }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) { return input.read(buffer, offset, length); }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
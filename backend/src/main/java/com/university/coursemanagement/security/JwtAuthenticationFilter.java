@@ -1,6 +1,11 @@
 package com.university.coursemanagement.security;
 
+import com.university.coursemanagement.entity.Role;
+import com.university.coursemanagement.entity.Student;
+import com.university.coursemanagement.entity.User;
+import com.university.coursemanagement.service.TokenRevocationService;
 import com.university.coursemanagement.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,28 +32,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Lazy
     private UserService userService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {
         
         final String authorizationHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
         
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("Cannot get JWT Token", e);
+            claims = jwtUtil.getVerifiedClaims(authorizationHeader.substring(7));
+            if (claims == null) {
+                logger.debug("Rejected invalid or expired JWT");
+            } else if (jwtUtil.isRefreshToken(claims)) {
+                logger.debug("Rejected refresh token presented as an access token");
+                claims = null;
+            } else if (tokenRevocationService.isRevoked(claims.getId())) {
+                logger.debug("Rejected revoked JWT");
+                claims = null;
             }
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = jwtUtil.isClaimsOnly() ? principalFromClaims(claims) : null;
+            if (userDetails == null) {
+                userDetails = userService.loadUserByUsername(claims.getSubject());
+            }
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,4 +72,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Builds a transient principal carrying only what the token asserts. Tokens issued
+     * without the role and userId claims return null and are resolved from the database.
+     */
+    private User principalFromClaims(Claims claims) {
+        Object role = claims.get("role");
+        Object userId = claims.get("userId");
+        if (!(role instanceof String) || !(userId instanceof Number)) {
+            return null;
+        }
+        User user = new User();
+        user.setId(((Number) userId).longValue());
+        user.setUsername(claims.getSubject());
+        user.setRole(Role.valueOf((String) role));
+        user.setEnabled(true);
+        user.setAccountNonExpired(true);
+        user.setAccountNonLocked(true);
+        user.setCredentialsNonExpired(true);
+        if (claims.get("studentId") instanceof Number studentId) {
+            Student student = new Student();
+            student.setId(studentId.longValue());
+            user.setStudent(student);
+        }
+        return user;
+    }
 }
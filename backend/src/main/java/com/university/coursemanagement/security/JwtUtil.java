@@ -1,7 +1,9 @@
 package com.university.coursemanagement.security;
 
+import com.university.coursemanagement.cache.ExpiringLruCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -10,19 +12,67 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    
     @Value("${jwt.secret:mySecretKey}")
     private String secret;
     
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+    
+    // Build the principal from token claims alone instead of loading the user per request
+    @Value("${jwt.claims-only.enabled:false}")
+    private boolean claimsOnly;
+    
+    @Value("${jwt.claims-only.access-expiration:900000}")
+    private Long claimsOnlyAccessExpiration;
+    
+    @Value("${jwt.refresh-expiration:604800000}")
+    private Long refreshExpiration;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    // Tokens whose signature has already been checked, kept until they expire
+    private ExpiringLruCache<String, Claims> verifiedClaims;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedClaims = new ExpiringLruCache<>(claimsCacheMaxEntries, expiration);
+    }
+    
+    /**
+     * Returns the claims of a correctly signed, unexpired token, or null otherwise.
+     * The signature is verified once per token; repeat requests are served from the cache.
+     */
+    public Claims getVerifiedClaims(String token) {
+        Claims claims = verifiedClaims.get(token);
+        if (claims != null) {
+            return claims;
+        }
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            verifiedClaims.put(token, claims, exp.getTime());
+        }
+        return claims;
     }
     
     public String extractUsername(String token) {
@@ -39,51 +89,57 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        Claims claims = verifiedClaims.get(token);
+        return claims != null ? claims : parser.parseClaimsJws(token).getBody();
     }
     
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        return createToken(claims, userDetails.getUsername(), getAccessExpiration());
     }
     
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         Map<String, Object> claims = new HashMap<>(extraClaims);
-        return createToken(claims, userDetails.getUsername());
+        return createToken(claims, userDetails.getUsername(), getAccessExpiration());
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
+    public String generateRefreshToken(UserDetails userDetails, Long userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put("userId", userId);
+        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+    }
+    
+    private String createToken(Map<String, Object> claims, String subject, long lifetimeMs) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + lifetimeMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM));
+    }
+    
+    public boolean isClaimsOnly() {
+        return claimsOnly;
+    }
+    
+    // Claims-only principals go stale until the token expires, so those tokens are kept short
+    public long getAccessExpiration() {
+        return claimsOnly ? claimsOnlyAccessExpiration : expiration;
+    }
+    
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = getVerifiedClaims(token);
+        return claims != null && userDetails.getUsername().equals(claims.getSubject());
     }
     
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return getVerifiedClaims(token) != null;
     }
 }
@@ -0,0 +1,99 @@
+package com.university.coursemanagement.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window attempt counters for the password endpoints, per client IP and per
+ * username. Each key keeps the current and previous fixed window and weights the
+ * previous one by how much of it still overlaps the sliding window, which needs no
+ * per-attempt timestamps.
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Value("${auth.rate-limit.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${auth.rate-limit.per-ip:60}")
+    private int perIp;
+
+    @Value("${auth.rate-limit.per-username:10}")
+    private int perUsername;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+
+    /**
+     * Records an attempt and returns 0 when it is allowed, otherwise the number of
+     * seconds the client should wait. The username may be null for sign-ups.
+     */
+    public long tryAcquire(String ip, String username) {
+        long now = System.currentTimeMillis();
+        long windowMs = TimeUnit.SECONDS.toMillis(windowSeconds);
+
+        long retryAfter = window("ip:" + ip).tryAcquire(now, windowMs, perIp);
+        if (retryAfter == 0 && username != null) {
+            retryAfter = window("user:" + username.trim().toLowerCase(Locale.ROOT)).tryAcquire(now, windowMs, perUsername);
+        }
+        if (retryAfter == 0) {
+            allowed.increment();
+        } else {
+            limited.increment();
+        }
+        return retryAfter;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", windows.size());
+        stats.put("allowed", allowed.sum());
+        stats.put("limited", limited.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long cutoff = System.currentTimeMillis() - 2 * TimeUnit.SECONDS.toMillis(windowSeconds);
+        windows.values().removeIf(window -> window.isIdleSince(cutoff));
+    }
+
+    private Window window(String key) {
+        return windows.computeIfAbsent(key, k -> new Window());
+    }
+
+    private static final class Window {
+        private long start;
+        private int current;
+        private int previous;
+
+        synchronized long tryAcquire(long now, long windowMs, int limit) {
+            long aligned = now - now % windowMs;
+            if (aligned != start) {
+                previous = aligned - start == windowMs ? current : 0;
+                current = 0;
+                start = aligned;
+            }
+            double overlap = (double) (windowMs - (now - start)) / windowMs;
+            if (previous * overlap + current >= limit) {
+                return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(windowMs - (now - start)));
+            }
+            current++;
+            return 0;
+        }
+
+        synchronized boolean isIdleSince(long cutoff) {
+            return start < cutoff;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.university.coursemanagement.security;
+
+/**
+ * Thrown when the password hashing queue is full, so callers can answer 503 with a
+ * Retry-After instead of tying up a request thread behind the backlog.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Password hashing is saturated, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,144 @@
+package com.university.coursemanagement.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room for registration writes. Admission is a lock-free token
+ * bucket kept as a single theoretical-arrival-time (GCRA); requests over the rate
+ * are given a ticket holding a reserved admission slot and told when to come back,
+ * so a registration rush queues here instead of in the Tomcat and Hikari pools.
+ */
+@Component
+public class RegistrationAdmissionFilter extends OncePerRequestFilter {
+
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+
+    @Value("${registration.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${registration.admission.rate-per-second:50}")
+    private double ratePerSecond;
+
+    @Value("${registration.admission.burst:100}")
+    private int burst;
+
+    @Value("${registration.admission.max-queue:10000}")
+    private int maxQueue;
+
+    @Value("${registration.admission.ticket-ttl-seconds:60}")
+    private long ticketTtlSeconds;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    private final ConcurrentHashMap<String, Long> tickets = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !path.equals("/api/registrations") && !path.startsWith("/api/registrations/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        String ticket = request.getHeader(TICKET_HEADER);
+
+        if (ticket != null) {
+            Long slot = tickets.get(ticket);
+            if (slot != null) {
+                if (now >= slot) {
+                    tickets.remove(ticket);
+                    filterChain.doFilter(request, response);
+                } else {
+                    rejectQueued(response, ticket, slot, now);
+                }
+                return;
+            }
+            // Unknown or expired ticket: queue again as a fresh arrival
+        }
+
+        long interval = intervalNanos();
+        long tolerance = interval * burst;
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + interval;
+            long slot = next - tolerance;
+
+            if (slot <= now) {
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                continue;
+            }
+
+            if (tickets.size() >= maxQueue) {
+                rejectFull(response, slot, now);
+                return;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                String issued = UUID.randomUUID().toString();
+                tickets.put(issued, slot);
+                rejectQueued(response, issued, slot, now);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 10000)
+    public void expireTickets() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(ticketTtlSeconds);
+        tickets.values().removeIf(slot -> slot < cutoff);
+    }
+
+    public int getQueueLength() {
+        return tickets.size();
+    }
+
+    private long intervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    }
+
+    private void rejectQueued(HttpServletResponse response, String ticket, long slot, long now) throws IOException {
+        long wait = slot - now;
+        long position = Math.max(1, wait / intervalNanos());
+        long retryAfter = Math.max(1, (long) Math.ceil(wait / 1e9));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setHeader(TICKET_HEADER, ticket);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Registration is busy, you are in the queue\",\"ticket\":\"" + ticket
+            + "\",\"position\":" + position + ",\"retryAfterSeconds\":" + retryAfter + "}");
+    }
+
+    private void rejectFull(HttpServletResponse response, long slot, long now) throws IOException {
+        long retryAfter = Math.max(1, (long) Math.ceil((slot - now) / 1e9));
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Registration queue is full, please try again later\",\"retryAfterSeconds\":"
+            + retryAfter + "}");
+    }
+}
@@ -0,0 +1,165 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.analytics.Dimension;
+import com.university.coursemanagement.analytics.ResultQuery;
+import com.university.coursemanagement.analytics.ResultSnapshot;
+import com.university.coursemanagement.entity.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves ad-hoc group-by queries over an in-memory columnar snapshot of results.
+ * Each refresh pulls only rows whose updated_at is at or after the snapshot's
+ * watermark; deletes are not visible that way, so a row-count mismatch or the
+ * periodic full rebuild reloads everything.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final String SELECT_RESULTS = "SELECT id, student_id, course_id, score, grade, exam_type, exam_date, updated_at " +
+        "FROM results";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${analytics.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${analytics.full-rebuild-interval-ms:600000}")
+    private long fullRebuildIntervalMs;
+
+    private volatile ResultSnapshot snapshot;
+
+    private long lastFullRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.refresh-interval-ms:30000}", initialDelayString = "${analytics.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT COUNT(*) AS total, MAX(updated_at) AS latest FROM results");
+        int total = ((Number) state.get("total")).intValue();
+        LocalDateTime latest = state.get("latest") != null ? ((Timestamp) state.get("latest")).toLocalDateTime() : null;
+
+        ResultSnapshot current = snapshot;
+        boolean rebuildDue = System.currentTimeMillis() - lastFullRebuild > fullRebuildIntervalMs;
+        if (current == null || rebuildDue) {
+            rebuild(total);
+            return;
+        }
+        LocalDateTime watermark = current.getWatermark();
+        if (total == current.getSize() && (latest == null || (watermark != null && !latest.isAfter(watermark)))) {
+            return;
+        }
+
+        ResultSnapshot.Builder builder = current.toBuilder(Math.max(0, total - current.getSize()));
+        builder.courses(jdbcTemplate.query("SELECT id, code, instructor FROM courses",
+            (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)}));
+        if (watermark != null) {
+            cursor().query(SELECT_RESULTS + " WHERE updated_at >= ?", rs -> {
+                upsert(builder, rs);
+            }, Timestamp.valueOf(watermark));
+        } else {
+            cursor().query(SELECT_RESULTS + " WHERE updated_at IS NOT NULL", rs -> {
+                upsert(builder, rs);
+            });
+        }
+
+        if (builder.size() != total) {
+            // Rows were deleted since the last snapshot
+            rebuild(total);
+            return;
+        }
+        snapshot = builder.build();
+    }
+
+    public Map<String, Object> query(List<Dimension> groupBy, Long courseId, Result.ExamType examType,
+                                     LocalDate from, LocalDate to) {
+        ResultSnapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+
+        ResultQuery query = new ResultQuery(groupBy);
+        if (courseId != null) {
+            Integer idx = current.courseIndex(courseId);
+            // A course with no results matches nothing
+            query.course(idx != null ? idx : Integer.MAX_VALUE);
+        }
+        if (examType != null) {
+            query.examType(examType.ordinal());
+        }
+        if (from != null || to != null) {
+            query.between(from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE + 1,
+                          to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("groupBy", groupBy.stream().map(Dimension::key).toList());
+        response.put("rows", query.run(current));
+        response.put("snapshotRows", current.getSize());
+        response.put("refreshedAt", current.getRefreshedAt());
+        return response;
+    }
+
+    public Map<String, Object> getStatus() {
+        ResultSnapshot current = snapshot;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rows", current != null ? current.getSize() : 0);
+        status.put("watermark", current != null ? current.getWatermark() : null);
+        status.put("refreshedAt", current != null ? current.getRefreshedAt() : null);
+        return status;
+    }
+
+    private void rebuild(int expectedRows) {
+        long started = System.currentTimeMillis();
+        ResultSnapshot.Builder builder = ResultSnapshot.empty(expectedRows);
+        builder.courses(jdbcTemplate.query("SELECT id, code, instructor FROM courses",
+            (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)}));
+        cursor().query(SELECT_RESULTS, rs -> {
+            upsert(builder, rs);
+        });
+        snapshot = builder.build();
+        lastFullRebuild = System.currentTimeMillis();
+        logger.info("Analytics snapshot rebuilt with {} results in {} ms", snapshot.getSize(), lastFullRebuild - started);
+    }
+
+    private static void upsert(ResultSnapshot.Builder builder, ResultSet rs) throws SQLException {
+        String grade = rs.getString(5);
+        String examType = rs.getString(6);
+        Timestamp examDate = rs.getTimestamp(7);
+        Timestamp updatedAt = rs.getTimestamp(8);
+        builder.upsert(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDouble(4),
+            grade != null ? Result.Grade.valueOf(grade).ordinal() : -1,
+            examType != null ? Result.ExamType.valueOf(examType).ordinal() : -1,
+            examDate != null ? examDate.toLocalDateTime() : null,
+            updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+
+    private JdbcTemplate cursor() {
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursor.setFetchSize(fetchSize);
+        return cursor;
+    }
+}
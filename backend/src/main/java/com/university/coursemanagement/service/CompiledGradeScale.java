@@ -0,0 +1,83 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Result.Grade;
+
+import java.util.Map;
+
+/**
+ * A grade scale flattened into a table indexed by score in hundredths, so mapping a
+ * score to a grade is one array read. Thresholds are rounded to two decimals when
+ * compiled, which keeps the table exact for every score.
+ */
+public final class CompiledGradeScale {
+
+    private static final int STEPS_PER_POINT = 100;
+    private static final int TABLE_SIZE = 100 * STEPS_PER_POINT + 1;
+    private static final Grade[] GRADES = Grade.values();
+
+    /** The ladder hard-coded in Grade.fromScore. */
+    public static final CompiledGradeScale DEFAULT = defaultLadder();
+
+    private final Long scaleId;
+    private final byte[] table;
+
+    private CompiledGradeScale(Long scaleId, byte[] table) {
+        this.scaleId = scaleId;
+        this.table = table;
+    }
+
+    /**
+     * Thresholds must fall as grades fall: a grade never needs a higher score than a
+     * better one.
+     */
+    public static CompiledGradeScale compile(Long scaleId, Map<Grade, Double> thresholds) {
+        int[] minStep = new int[GRADES.length];
+        int previous = Integer.MAX_VALUE;
+        for (int g = 0; g < GRADES.length; g++) {
+            Double threshold = thresholds.get(GRADES[g]);
+            if (threshold == null) {
+                minStep[g] = -1;
+                continue;
+            }
+            if (threshold < 0 || threshold > 100) {
+                throw new IllegalArgumentException("Threshold for " + GRADES[g] + " must be between 0 and 100");
+            }
+            int step = (int) Math.round(threshold * STEPS_PER_POINT);
+            if (step > previous) {
+                throw new IllegalArgumentException("Threshold for " + GRADES[g] + " is above the threshold of a better grade");
+            }
+            minStep[g] = step;
+            previous = step;
+        }
+
+        byte[] table = new byte[TABLE_SIZE];
+        for (int step = 0; step < TABLE_SIZE; step++) {
+            Grade grade = Grade.F;
+            for (int g = 0; g < GRADES.length; g++) {
+                if (minStep[g] >= 0 && step >= minStep[g]) {
+                    grade = GRADES[g];
+                    break;
+                }
+            }
+            table[step] = (byte) grade.ordinal();
+        }
+        return new CompiledGradeScale(scaleId, table);
+    }
+
+    public Grade gradeFor(double score) {
+        int step = (int) Math.floor(score * STEPS_PER_POINT + 1e-9);
+        return GRADES[table[Math.max(0, Math.min(TABLE_SIZE - 1, step))]];
+    }
+
+    public Long getScaleId() {
+        return scaleId;
+    }
+
+    private static CompiledGradeScale defaultLadder() {
+        byte[] table = new byte[TABLE_SIZE];
+        for (int step = 0; step < TABLE_SIZE; step++) {
+            table[step] = (byte) Grade.fromScore((double) step / STEPS_PER_POINT).ordinal();
+        }
+        return new CompiledGradeScale(null, table);
+    }
+}
@@ -0,0 +1,64 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.event.SeatsChangedEvent;
+import com.university.coursemanagement.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Cached view of courses with free seats. Seat changes only mark the view dirty; it
+ * is rebuilt from the materialized enrolled_count at most once per staleness
+ * window, so a page refresh storm during registration costs one query per window.
+ */
+@Service
+public class CourseAvailabilityService {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${course.availability.max-staleness-ms:1000}")
+    private long maxStalenessMs;
+
+    private volatile List<Course> availableCourses;
+
+    private volatile long loadedAt;
+
+    private volatile boolean dirty = true;
+
+    public List<Course> getAvailableCourses() {
+        List<Course> snapshot = availableCourses;
+        if (snapshot != null && (!dirty || System.currentTimeMillis() - loadedAt < maxStalenessMs)) {
+            return snapshot;
+        }
+        return reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        dirty = true;
+    }
+
+    /**
+     * Forces the next read to rebuild, for course edits that change capacity or the listing itself.
+     */
+    public void invalidate() {
+        dirty = true;
+        loadedAt = 0;
+    }
+
+    private synchronized List<Course> reload() {
+        if (availableCourses != null && !dirty && loadedAt != 0) {
+            return availableCourses;
+        }
+        dirty = false;
+        List<Course> courses = List.copyOf(courseRepository.findAvailableCourses());
+        availableCourses = courses;
+        loadedAt = System.currentTimeMillis();
+        return courses;
+    }
+}
@@ -0,0 +1,163 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.CourseAssessmentWeight;
+import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.repository.CourseAssessmentWeightRepository;
+import com.university.coursemanagement.repository.RegistrationRepository;
+import com.university.coursemanagement.repository.ResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Per-course ExamType weightings and course finalization. Finalizing reads every
+ * student's per-type averages in one grouped query, then splits the course's ENROLLED
+ * registrations into batches that are scored and written in parallel, each batch in
+ * its own transaction, setting grade, final_score and status=COMPLETED.
+ */
+@Service
+public class FinalGradeService {
+
+    private static final String FINALIZE_SQL = "UPDATE registrations SET grade = ?, final_score = ?, status = 'COMPLETED', " +
+        "updated_at = ? WHERE id = ? AND status = 'ENROLLED'";
+
+    @Autowired
+    private CourseAssessmentWeightRepository weightRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private GradeScaleService gradeScaleService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${grading.finalize.batch-size:200}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public FinalGradeService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Map<Result.ExamType, Double> getWeights(Long courseId) {
+        Map<Result.ExamType, Double> weights = new EnumMap<>(Result.ExamType.class);
+        for (CourseAssessmentWeight weight : weightRepository.findByCourseId(courseId)) {
+            weights.put(weight.getExamType(), weight.getWeight());
+        }
+        return weights;
+    }
+
+    @Transactional
+    public Map<Result.ExamType, Double> replaceWeights(Long courseId, Map<Result.ExamType, Double> weights) {
+        double total = 0;
+        for (Map.Entry<Result.ExamType, Double> entry : weights.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Weight for " + entry.getKey() + " must not be negative");
+            }
+            total += entry.getValue();
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        weightRepository.deleteByCourse(courseId);
+        weightRepository.flush();
+        List<CourseAssessmentWeight> rows = new ArrayList<>();
+        weights.forEach((examType, weight) -> rows.add(new CourseAssessmentWeight(courseId, examType, weight)));
+        weightRepository.saveAll(rows);
+        return getWeights(courseId);
+    }
+
+    /**
+     * Weighted final score is the weight-normalised sum of the student's average per
+     * exam type; a weighted type with no result counts as zero.
+     */
+    public Map<String, Object> finalizeCourse(Long courseId) {
+        Map<Result.ExamType, Double> weights = getWeights(courseId);
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Course has no assessment weights");
+        }
+        int typeCount = Result.ExamType.values().length;
+        double[] weightByType = new double[typeCount];
+        double totalWeight = 0;
+        for (Map.Entry<Result.ExamType, Double> entry : weights.entrySet()) {
+            weightByType[entry.getKey().ordinal()] = entry.getValue();
+            totalWeight += entry.getValue();
+        }
+
+        Map<Long, double[]> averagesByStudent = new HashMap<>();
+        for (Object[] row : resultRepository.averageByStudentAndExamType(courseId)) {
+            if (row[1] == null) {
+                continue;
+            }
+            averagesByStudent.computeIfAbsent((Long) row[0], id -> new double[typeCount])
+                [((Result.ExamType) row[1]).ordinal()] = ((Number) row[2]).doubleValue();
+        }
+
+        List<Object[]> registrations = registrationRepository.findEnrolledStudentPairs(courseId);
+        CompiledGradeScale scale = gradeScaleService.scaleFor(courseId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        double normaliser = totalWeight;
+        int batches = (registrations.size() + batchSize - 1) / batchSize;
+        AtomicInteger finalized = new AtomicInteger();
+
+        IntStream.range(0, batches).parallel().forEach(batch -> {
+            List<Object[]> slice = registrations.subList(batch * batchSize,
+                Math.min(registrations.size(), (batch + 1) * batchSize));
+            List<Object[]> updates = new ArrayList<>(slice.size());
+            for (Object[] registration : slice) {
+                double[] averages = averagesByStudent.get((Long) registration[1]);
+                double weighted = 0;
+                if (averages != null) {
+                    for (int t = 0; t < typeCount; t++) {
+                        weighted += weightByType[t] * averages[t];
+                    }
+                }
+                double finalScore = Math.round(weighted / normaliser * 100.0) / 100.0;
+                updates.add(new Object[] {scale.gradeFor(finalScore).getDisplayName(), finalScore, now, registration[0]});
+            }
+            Integer written = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (int updated : jdbcTemplate.batchUpdate(FINALIZE_SQL, updates)) {
+                    count += updated == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, updated);
+                }
+                // Completed registrations no longer hold a seat
+                seatReservationService.release(courseId, count);
+                return count;
+            });
+            finalized.addAndGet(written != null ? written : 0);
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("courseId", courseId);
+        summary.put("weights", weights);
+        summary.put("finalized", finalized.get());
+        summary.put("batches", batches);
+        return summary;
+    }
+}
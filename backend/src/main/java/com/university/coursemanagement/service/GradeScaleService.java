@@ -0,0 +1,317 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.GradeScale;
+import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.event.ResultsChangedEvent;
+import com.university.coursemanagement.repository.GradeScaleRepository;
+import com.university.coursemanagement.repository.ResultRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the grade scale for a course (its newest own scale, else the default
+ * scale, else the built-in ladder) as a compiled lookup table, and runs re-grade
+ * jobs that apply a scale and/or a score curve to a whole course in keyset chunks.
+ * A curve is an offset from each result's raw mark: the raw mark is kept in
+ * raw_score, and a later job replaces the curve rather than adding to it.
+ */
+@Service
+public class GradeScaleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeScaleService.class);
+
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    // Only writes a row still holding the values the chunk read; edits lock the row, so a lost race is a skipped row
+    private static final String UPDATE_SQL = "UPDATE results SET score = ?, raw_score = ?, grade = ?, grade_points = ?, updated_at = ? " +
+        "WHERE id = ? AND score = ? AND COALESCE(raw_score, -1) = ? AND COALESCE(grade_points, -1) = ?";
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public static class RegradeJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Long courseId;
+        private final Long scaleId;
+        private final double curveOffset;
+        private final Result.ExamType examType;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile long total;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong changed = new AtomicLong();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        RegradeJob(Long courseId, Long scaleId, double curveOffset, Result.ExamType examType) {
+            this.courseId = courseId;
+            this.scaleId = scaleId;
+            this.curveOffset = curveOffset;
+            this.examType = examType;
+        }
+
+        public String getId() { return id; }
+        public Long getCourseId() { return courseId; }
+        public Long getScaleId() { return scaleId; }
+        public double getCurveOffset() { return curveOffset; }
+        public Result.ExamType getExamType() { return examType; }
+        public JobStatus getStatus() { return status; }
+        public long getTotal() { return total; }
+        public long getProcessed() { return processed.get(); }
+        public long getChanged() { return changed.get(); }
+        public double getProgress() { return total > 0 ? 100.0 * processed.get() / total : (status == JobStatus.COMPLETED ? 100.0 : 0.0); }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public String getError() { return error; }
+    }
+
+    @Autowired
+    private GradeScaleRepository gradeScaleRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${grading.regrade.chunk-size:500}")
+    private int chunkSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, CompiledGradeScale> scalesByCourse = new ConcurrentHashMap<>();
+
+    private volatile CompiledGradeScale defaultScale;
+
+    private final Map<String, RegradeJob> jobs = new ConcurrentHashMap<>();
+
+    // One job at a time keeps concurrent curves on the same rows from interleaving
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "regrade-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GradeScaleService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompiledGradeScale scaleFor(Long courseId) {
+        CompiledGradeScale scale = scalesByCourse.get(courseId);
+        if (scale == null) {
+            scale = gradeScaleRepository.findFirstByCourseIdOrderByIdDesc(courseId)
+                .map(this::compile)
+                .orElseGet(this::defaultScale);
+            scalesByCourse.put(courseId, scale);
+        }
+        return scale;
+    }
+
+    public Result.Grade gradeFor(Long courseId, double score) {
+        return scaleFor(courseId).gradeFor(score);
+    }
+
+    public List<GradeScale> getAllScales() {
+        return gradeScaleRepository.findAll();
+    }
+
+    public Optional<GradeScale> getScale(Long id) {
+        return gradeScaleRepository.findById(id);
+    }
+
+    /**
+     * Saves a new scale after checking that it compiles. Only results graded or
+     * re-graded from now on use it; existing grades change through a re-grade job.
+     */
+    @Transactional
+    public GradeScale createScale(GradeScale scale) {
+        CompiledGradeScale.compile(null, scale.getThresholds());
+        if (scale.isDefaultScale()) {
+            scale.setCourseId(null);
+            gradeScaleRepository.clearDefault();
+        }
+        scale.setId(null);
+        GradeScale saved = gradeScaleRepository.save(scale);
+        invalidate();
+        return saved;
+    }
+
+    @Transactional
+    public boolean deleteScale(Long id) {
+        if (!gradeScaleRepository.existsById(id)) {
+            return false;
+        }
+        gradeScaleRepository.deleteById(id);
+        invalidate();
+        return true;
+    }
+
+    public RegradeJob startRegrade(Long courseId, Long scaleId, double curveOffset, Result.ExamType examType) {
+        CompiledGradeScale scale;
+        if (scaleId != null) {
+            GradeScale gradeScale = gradeScaleRepository.findById(scaleId)
+                .orElseThrow(() -> new IllegalArgumentException("Grade scale not found"));
+            if (gradeScale.getCourseId() != null && !gradeScale.getCourseId().equals(courseId)) {
+                throw new IllegalArgumentException("Grade scale belongs to another course");
+            }
+            scale = compile(gradeScale);
+        } else {
+            scale = scaleFor(courseId);
+        }
+
+        RegradeJob job = new RegradeJob(courseId, scaleId, curveOffset, examType);
+        if (jobs.size() >= MAX_RETAINED_JOBS) {
+            jobs.values().removeIf(existing -> existing.getFinishedAt() != null);
+        }
+        jobs.put(job.getId(), job);
+        executor.submit(() -> runRegrade(job, scale));
+        return job;
+    }
+
+    public Optional<RegradeJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void runRegrade(RegradeJob job, CompiledGradeScale scale) {
+        job.status = JobStatus.RUNNING;
+        try {
+            job.total = resultRepository.countForGrading(job.getCourseId(), job.getExamType());
+            long afterId = 0;
+            while (true) {
+                long lastId = afterId;
+                Long next = transactionTemplate.execute(status -> regradeChunk(job, scale, lastId));
+                if (next == null) {
+                    break;
+                }
+                afterId = next;
+            }
+            job.status = JobStatus.COMPLETED;
+            logger.info("Re-grade {} of course {} changed {} of {} results", job.getId(), job.getCourseId(),
+                job.getChanged(), job.getProcessed());
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+            logger.error("Re-grade {} of course {} failed", job.getId(), job.getCourseId(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // Returns the last id handled, or null once the course is exhausted
+    private Long regradeChunk(RegradeJob job, CompiledGradeScale scale, long afterId) {
+        List<Object[]> rows = resultRepository.findForGradingAfter(job.getCourseId(), job.getExamType(), afterId,
+            PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        // Per update: student id, score delta, grade-point delta
+        List<Object[]> changes = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (row[2] == null) {
+                continue;
+            }
+            Long studentId = (Long) row[1];
+            double score = ((Number) row[2]).doubleValue();
+            Result.Grade grade = (Result.Grade) row[3];
+            Double gradePoints = row[4] != null ? ((Number) row[4]).doubleValue() : null;
+            Double rawScore = row[5] != null ? ((Number) row[5]).doubleValue() : null;
+            double previousPoints = gradePoints != null ? gradePoints : (grade != null ? grade.getGpaValue() : 0.0);
+
+            // The curve is measured from the mark as entered, so re-running a job does not stack it
+            double raw = rawScore != null ? rawScore : score;
+            double curved = Math.max(0.0, Math.min(100.0, raw + job.getCurveOffset()));
+            Double keptRaw = curved != raw ? raw : null;
+            Result.Grade regraded = scale.gradeFor(curved);
+            if (curved == score && regraded == grade && Objects.equals(keptRaw, rawScore)) {
+                continue;
+            }
+            updates.add(new Object[] {curved, keptRaw, regraded.name(), regraded.getGpaValue(), now,
+                row[0], score, rawScore != null ? rawScore : -1.0, gradePoints != null ? gradePoints : -1.0});
+            changes.add(new Object[] {studentId, curved - score, regraded.getGpaValue() - previousPoints});
+        }
+
+        long applied = 0;
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            // Per-student aggregate deltas: score sum, grade-point sum
+            Map<Long, double[]> deltas = new HashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] <= 0) {
+                    continue;
+                }
+                Object[] change = changes.get(i);
+                double[] delta = deltas.computeIfAbsent((Long) change[0], id -> new double[2]);
+                delta[0] += (Double) change[1];
+                delta[1] += (Double) change[2];
+                applied++;
+            }
+            deltas.forEach((studentId, delta) -> {
+                resultService.adjustAggregate(studentId, 0, delta[0], delta[1]);
+                eventPublisher.publishEvent(new ResultsChangedEvent(studentId, Set.of(job.getCourseId())));
+            });
+        }
+        job.processed.addAndGet(rows.size());
+        job.changed.addAndGet(applied);
+        return (Long) rows.get(rows.size() - 1)[0];
+    }
+
+    private CompiledGradeScale compile(GradeScale scale) {
+        return CompiledGradeScale.compile(scale.getId(), scale.getThresholds());
+    }
+
+    private CompiledGradeScale defaultScale() {
+        CompiledGradeScale scale = defaultScale;
+        if (scale == null) {
+            scale = gradeScaleRepository.findFirstByDefaultScaleTrueOrderByIdDesc()
+                .map(this::compile)
+                .orElse(CompiledGradeScale.DEFAULT);
+            defaultScale = scale;
+        }
+        return scale;
+    }
+
+    private void invalidate() {
+        scalesByCourse.clear();
+        defaultScale = null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.cache.ExpiringLruCache;
+import com.university.coursemanagement.entity.IdempotencyRecord;
+import com.university.coursemanagement.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the response to a write made under an Idempotency-Key so that retries
+ * are answered without re-running the request. A bounded expiring in-memory cache
+ * serves most replays; the idempotency_records table covers evictions and restarts.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static class StoredResponse {
+        private final String requestHash;
+        private final int statusCode;
+        private final String contentType;
+        private final String body;
+
+        public StoredResponse(String requestHash, int statusCode, String contentType, String body) {
+            this.requestHash = requestHash;
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        // SHA-256 of the request body the response was produced for; null for records stored before it was kept
+        public String getRequestHash() { return requestHash; }
+        public int getStatusCode() { return statusCode; }
+        public String getContentType() { return contentType; }
+        public String getBody() { return body; }
+    }
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final long ttlMs;
+
+    private final ExpiringLruCache<String, StoredResponse> responses;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours) {
+        this.ttlMs = TimeUnit.HOURS.toMillis(ttlHours);
+        this.responses = new ExpiringLruCache<>(maxEntries, ttlMs);
+    }
+
+    public StoredResponse find(String key) {
+        StoredResponse response = responses.get(key);
+        if (response != null) {
+            return response;
+        }
+        try {
+            return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(record -> {
+                    StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                        record.getContentType(), record.getResponseBody());
+                    responses.put(key, stored);
+                    return stored;
+                })
+                .orElse(null);
+        } catch (DataAccessException e) {
+            logger.warn("Idempotency store lookup failed for {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Claims the key for a request about to execute; false if another request holding
+     * the same key is still running.
+     */
+    public boolean begin(String key) {
+        return inFlight.add(key);
+    }
+
+    public void finish(String key) {
+        inFlight.remove(key);
+    }
+
+    public void store(String key, StoredResponse response) {
+        long expiresAt = System.currentTimeMillis() + ttlMs;
+        responses.put(key, response, expiresAt);
+        try {
+            idempotencyRecordRepository.save(new IdempotencyRecord(key, response.getRequestHash(), response.getStatusCode(), response.getContentType(),
+                response.getBody(), LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs))));
+        } catch (DataAccessException e) {
+            // The in-memory copy still answers replays on this node
+            logger.warn("Could not persist idempotency record {}", key, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.prune-interval-ms:600000}")
+    @Transactional
+    public void pruneExpired() {
+        responses.removeExpired();
+        idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,299 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.StudentResultAggregate;
+import com.university.coursemanagement.event.ResultsChangedEvent;
+import com.university.coursemanagement.repository.ResultRepository;
+import com.university.coursemanagement.repository.StudentResultAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * GPA rank and percentile across the university and average-score rank within each
+ * course. Each ranking is a pair of parallel primitive arrays sorted by (score, student
+ * id), so rank lookups are a binary search and top-N is a tail read. Result changes
+ * re-read only the affected student's numbers after commit.
+ */
+@Service
+public class RankingService {
+
+    @Autowired
+    private StudentResultAggregateRepository aggregateRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    private volatile Ranking university = new Ranking();
+
+    private final ConcurrentHashMap<Long, Ranking> courses = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Set<Long>> coursesByStudent = new ConcurrentHashMap<>();
+
+    // After ResultService has rebuilt the aggregates
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        List<StudentResultAggregate> aggregates = aggregateRepository.findAll();
+        Ranking rebuilt = Ranking.of(aggregates.stream()
+            .filter(aggregate -> aggregate.getResultCount() > 0)
+            .mapToLong(StudentResultAggregate::getStudentId).toArray(),
+            aggregates.stream()
+            .filter(aggregate -> aggregate.getResultCount() > 0)
+            .mapToDouble(StudentResultAggregate::getGpa).toArray());
+
+        Map<Long, List<Object[]>> rowsByCourse = new HashMap<>();
+        for (Object[] row : resultRepository.averageByCourseAndStudent()) {
+            rowsByCourse.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, Ranking> rebuiltCourses = new ConcurrentHashMap<>();
+        rowsByCourse.entrySet().parallelStream().forEach(entry -> {
+            List<Object[]> rows = entry.getValue();
+            long[] ids = new long[rows.size()];
+            double[] scores = new double[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                ids[i] = (Long) rows.get(i)[1];
+                scores[i] = ((Number) rows.get(i)[2]).doubleValue();
+            }
+            rebuiltCourses.put(entry.getKey(), Ranking.of(ids, scores));
+        });
+
+        university = rebuilt;
+        courses.clear();
+        courses.putAll(rebuiltCourses);
+        coursesByStudent.clear();
+        rowsByCourse.forEach((courseId, rows) -> rows.forEach(row ->
+            coursesByStudent.computeIfAbsent((Long) row[1], id -> ConcurrentHashMap.newKeySet()).add(courseId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        Long studentId = event.getStudentId();
+        StudentResultAggregate aggregate = aggregateRepository.findById(studentId).orElse(null);
+        if (aggregate == null || aggregate.getResultCount() == 0) {
+            university.remove(studentId);
+        } else {
+            university.put(studentId, aggregate.getGpa());
+        }
+
+        for (Long courseId : event.getCourseIds()) {
+            Double average = resultRepository.calculateAverageByStudentAndCourse(studentId, courseId);
+            if (average == null) {
+                Ranking ranking = courses.get(courseId);
+                if (ranking != null) {
+                    ranking.remove(studentId);
+                }
+                coursesByStudent.computeIfPresent(studentId, (id, set) -> {
+                    set.remove(courseId);
+                    return set.isEmpty() ? null : set;
+                });
+            } else {
+                courses.computeIfAbsent(courseId, id -> new Ranking()).put(studentId, average);
+                coursesByStudent.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(courseId);
+            }
+        }
+    }
+
+    public Map<String, Object> getStudentRanking(Long studentId) {
+        Map<String, Object> ranking = new LinkedHashMap<>();
+        ranking.put("studentId", studentId);
+        ranking.put("university", university.standing(studentId));
+
+        Map<Long, Map<String, Object>> courseStandings = new LinkedHashMap<>();
+        for (Long courseId : coursesByStudent.getOrDefault(studentId, Set.of())) {
+            Ranking course = courses.get(courseId);
+            if (course != null) {
+                courseStandings.put(courseId, course.standing(studentId));
+            }
+        }
+        ranking.put("courses", courseStandings);
+        return ranking;
+    }
+
+    public List<Map<String, Object>> getTopStudents(int limit) {
+        return university.top(limit);
+    }
+
+    public List<Map<String, Object>> getTopStudentsInCourse(Long courseId, int limit) {
+        Ranking ranking = courses.get(courseId);
+        return ranking != null ? ranking.top(limit) : List.of();
+    }
+
+    /**
+     * Students sorted ascending by (score, id) in two parallel arrays. Lookups take
+     * the read lock; an update shifts the tail of the arrays under the write lock.
+     */
+    private static class Ranking {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Double> scoreByStudent = new HashMap<>();
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        Ranking() {
+            this(new long[16], new double[16], 0);
+        }
+
+        private Ranking(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        static Ranking of(long[] ids, double[] scores) {
+            int n = ids.length;
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.parallelSort(order, (a, b) -> {
+                int byScore = Double.compare(scores[a], scores[b]);
+                return byScore != 0 ? byScore : Long.compare(ids[a], ids[b]);
+            });
+            double[] sortedScores = new double[Math.max(16, n)];
+            long[] sortedIds = new long[Math.max(16, n)];
+            for (int i = 0; i < n; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedScores[i] = scores[order[i]];
+            }
+            Ranking ranking = new Ranking(sortedIds, sortedScores, n);
+            for (int i = 0; i < n; i++) {
+                ranking.scoreByStudent.put(sortedIds[i], sortedScores[i]);
+            }
+            return ranking;
+        }
+
+        void put(long studentId, double score) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(studentId);
+                int index = -(indexOf(score, studentId) + 1);
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    scores = Arrays.copyOf(scores, size * 2);
+                }
+                System.arraycopy(ids, index, ids, index + 1, size - index);
+                System.arraycopy(scores, index, scores, index + 1, size - index);
+                ids[index] = studentId;
+                scores[index] = score;
+                size++;
+                scoreByStudent.put(studentId, score);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long studentId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(studentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(long studentId) {
+            Double previous = scoreByStudent.remove(studentId);
+            if (previous == null) {
+                return;
+            }
+            int index = indexOf(previous, studentId);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(scores, index + 1, scores, index, size - index - 1);
+            size--;
+        }
+
+        Map<String, Object> standing(long studentId) {
+            lock.readLock().lock();
+            try {
+                Map<String, Object> standing = new LinkedHashMap<>();
+                Double score = scoreByStudent.get(studentId);
+                standing.put("total", size);
+                if (score == null) {
+                    standing.put("score", null);
+                    standing.put("rank", null);
+                    standing.put("percentile", null);
+                    return standing;
+                }
+                // Competition ranking: ties share the best rank
+                int higher = size - firstAbove(score);
+                standing.put("score", score);
+                standing.put("rank", higher + 1);
+                standing.put("percentile", 100.0 * (size - higher) / size);
+                return standing;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Map<String, Object>> top(int limit) {
+            lock.readLock().lock();
+            try {
+                List<Map<String, Object>> top = new ArrayList<>(Math.min(limit, size));
+                int rank = 0;
+                for (int i = size - 1; i >= 0 && top.size() < limit; i--) {
+                    if (i == size - 1 || scores[i] != scores[i + 1]) {
+                        rank = size - i;
+                    }
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("rank", rank);
+                    entry.put("studentId", ids[i]);
+                    entry.put("score", scores[i]);
+                    top.add(entry);
+                }
+                return top;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Binary search over (score, id); negative insertion point when absent
+        private int indexOf(double score, long studentId) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = Double.compare(scores[mid], score);
+                if (cmp == 0) {
+                    cmp = Long.compare(ids[mid], studentId);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        // Index of the first entry scoring strictly more than the given score
+        private int firstAbove(double score) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(scores[mid], score) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
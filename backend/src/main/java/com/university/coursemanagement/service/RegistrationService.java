@@ -0,0 +1,236 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.BulkEnrollmentRow;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.Registration;
+import com.university.coursemanagement.entity.Registration.RegistrationStatus;
+import com.university.coursemanagement.entity.Student;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.RegistrationRepository;
+import com.university.coursemanagement.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class RegistrationService {
+
+    public enum Outcome {
+        CREATED, WAITLISTED, UPDATED, DELETED, STUDENT_NOT_FOUND, COURSE_NOT_FOUND, NOT_FOUND, COURSE_FULL
+    }
+
+    public static class RegistrationResult {
+        private final Outcome outcome;
+        private final Registration registration;
+
+        private RegistrationResult(Outcome outcome, Registration registration) {
+            this.outcome = outcome;
+            this.registration = registration;
+        }
+
+        public static RegistrationResult of(Outcome outcome) {
+            return new RegistrationResult(outcome, null);
+        }
+
+        public static RegistrationResult of(Outcome outcome, Registration registration) {
+            return new RegistrationResult(outcome, registration);
+        }
+
+        public Outcome getOutcome() { return outcome; }
+        public Registration getRegistration() { return registration; }
+    }
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Enrolls a student with a single conditional seat reservation, or puts them on
+     * the course waitlist (PENDING) when it is full or already has a waitlist, so a
+     * freed seat goes to the longest waiting student rather than the next request.
+     * Duplicate registrations are rejected by the (student_id, course_id) unique
+     * constraint, which rolls the reserved seat back with the transaction.
+     */
+    @Transactional
+    public RegistrationResult enroll(Long studentId, Long courseId) {
+        Optional<Student> student = studentRepository.findById(studentId);
+        if (student.isEmpty()) {
+            return RegistrationResult.of(Outcome.STUDENT_NOT_FOUND);
+        }
+
+        boolean waitlisted = registrationRepository.hasWaitlist(courseId);
+        if (waitlisted) {
+            // Queue a promotion pass in case seats were freed since the last one
+            waitlistService.seatsFreed(courseId);
+        } else {
+            SeatReservationService.Reservation reservation = seatReservationService.tryReserve(courseId);
+            if (reservation == SeatReservationService.Reservation.UNKNOWN_COURSE) {
+                return RegistrationResult.of(Outcome.COURSE_NOT_FOUND);
+            }
+            waitlisted = reservation == SeatReservationService.Reservation.FULL;
+        }
+
+        Course course = courseRepository.findById(courseId).orElseThrow();
+        Registration registration = new Registration(student.get(), course);
+        if (waitlisted) {
+            registration.setStatus(RegistrationStatus.PENDING);
+            return RegistrationResult.of(Outcome.WAITLISTED, registrationRepository.saveAndFlush(registration));
+        }
+        return RegistrationResult.of(Outcome.CREATED, registrationRepository.saveAndFlush(registration));
+    }
+
+    @Transactional
+    public RegistrationResult update(Long id, RegistrationStatus status, String grade) {
+        Optional<Registration> optionalRegistration = registrationRepository.findById(id);
+        if (optionalRegistration.isEmpty()) {
+            return RegistrationResult.of(Outcome.NOT_FOUND);
+        }
+
+        Registration registration = optionalRegistration.get();
+        RegistrationStatus previous = registration.getStatus();
+        Long courseId = registration.getCourse().getId();
+
+        if (previous != RegistrationStatus.ENROLLED && status == RegistrationStatus.ENROLLED) {
+            if (seatReservationService.tryReserve(courseId) != SeatReservationService.Reservation.RESERVED) {
+                return RegistrationResult.of(Outcome.COURSE_FULL);
+            }
+        } else if (previous == RegistrationStatus.ENROLLED && status != RegistrationStatus.ENROLLED) {
+            seatReservationService.release(courseId);
+            if (status == RegistrationStatus.DROPPED) {
+                waitlistService.seatsFreed(courseId);
+            }
+        }
+
+        registration.setStatus(status);
+        registration.setGrade(grade);
+        return RegistrationResult.of(Outcome.UPDATED, registrationRepository.save(registration));
+    }
+
+    @Transactional
+    public RegistrationResult delete(Long id) {
+        Optional<Registration> optionalRegistration = registrationRepository.findById(id);
+        if (optionalRegistration.isEmpty()) {
+            return RegistrationResult.of(Outcome.NOT_FOUND);
+        }
+
+        Registration registration = optionalRegistration.get();
+        if (registration.getStatus() == RegistrationStatus.ENROLLED) {
+            seatReservationService.release(registration.getCourse().getId());
+            waitlistService.seatsFreed(registration.getCourse().getId());
+        }
+        registrationRepository.delete(registration);
+        return RegistrationResult.of(Outcome.DELETED);
+    }
+
+    /**
+     * Enrolls a whole cohort in one transaction. Students, courses and existing
+     * registrations are resolved with set-based lookups, seats are reserved per
+     * course in one conditional update where possible, and rows are flushed in
+     * JDBC batches of hibernate.jdbc.batch_size.
+     */
+    @Transactional
+    public List<BulkEnrollmentRow> bulkEnroll(List<BulkEnrollmentRow> rows) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (BulkEnrollmentRow row : rows) {
+            if (row.getStudentId() == null || row.getCourseId() == null) {
+                row.setStatus(BulkEnrollmentRow.Status.INVALID);
+                continue;
+            }
+            studentIds.add(row.getStudentId());
+            courseIds.add(row.getCourseId());
+        }
+        if (studentIds.isEmpty()) {
+            return rows;
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+            .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Course> courses = courseRepository.findAllById(courseIds).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+        // Seats on waitlisted courses belong to the waitlist
+        Set<Long> waitlistedCourses = new HashSet<>(registrationRepository.findCourseIdsWithWaitlist(courseIds));
+        Set<String> taken = new HashSet<>();
+        for (Object[] pair : registrationRepository.findExistingPairs(studentIds, courseIds)) {
+            taken.add(pair[0] + ":" + pair[1]);
+        }
+
+        Map<Long, List<BulkEnrollmentRow>> candidatesByCourse = new LinkedHashMap<>();
+        for (BulkEnrollmentRow row : rows) {
+            if (row.getStatus() != null) {
+                continue;
+            }
+            if (!students.containsKey(row.getStudentId())) {
+                row.setStatus(BulkEnrollmentRow.Status.STUDENT_NOT_FOUND);
+            } else if (!courses.containsKey(row.getCourseId())) {
+                row.setStatus(BulkEnrollmentRow.Status.COURSE_NOT_FOUND);
+            } else if (!taken.add(row.getStudentId() + ":" + row.getCourseId())) {
+                row.setStatus(BulkEnrollmentRow.Status.DUPLICATE);
+            } else if (waitlistedCourses.contains(row.getCourseId())) {
+                row.setStatus(BulkEnrollmentRow.Status.COURSE_FULL);
+            } else {
+                candidatesByCourse.computeIfAbsent(row.getCourseId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        List<BulkEnrollmentRow> accepted = new ArrayList<>();
+        for (Map.Entry<Long, List<BulkEnrollmentRow>> entry : candidatesByCourse.entrySet()) {
+            List<BulkEnrollmentRow> candidates = entry.getValue();
+            int granted = seatReservationService.reserveUpTo(entry.getKey(), candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                if (i < granted) {
+                    accepted.add(candidates.get(i));
+                } else {
+                    candidates.get(i).setStatus(BulkEnrollmentRow.Status.COURSE_FULL);
+                }
+            }
+        }
+
+        List<Registration> pending = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            BulkEnrollmentRow row = accepted.get(i);
+            Registration registration = new Registration(students.get(row.getStudentId()), courses.get(row.getCourseId()));
+            entityManager.persist(registration);
+            row.setRegistrationId(registration.getId());
+            row.setStatus(BulkEnrollmentRow.Status.CREATED);
+            pending.add(registration);
+            if (pending.size() == batchSize || i == accepted.size() - 1) {
+                // Through the repository so a unique-key clash surfaces as DataIntegrityViolationException
+                registrationRepository.flush();
+                pending.forEach(entityManager::detach);
+                pending.clear();
+            }
+        }
+        return rows;
+    }
+}
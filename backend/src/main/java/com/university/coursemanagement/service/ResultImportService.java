@@ -0,0 +1,245 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.ResultImportReport;
+import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.event.ResultsChangedEvent;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports results from a CSV or TSV upload. The file is read line by line, student
+ * and course codes are resolved against maps loaded once per upload, grades come
+ * from the course's compiled grade scale, and rows go to the database in JDBC
+ * batches, so memory use does not grow with the file.
+ *
+ * The first line is a header naming the columns studentId, courseCode, score and
+ * examType, plus optional examDate and remarks, in any order.
+ */
+@Service
+public class ResultImportService {
+    
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private static final String INSERT_SQL = "INSERT INTO results " +
+        "(student_id, course_id, score, grade, grade_points, exam_type, exam_date, remarks, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private ResultService resultService;
+    
+    @Autowired
+    private GradeScaleService gradeScaleService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
+    @Transactional
+    public ResultImportReport importResults(InputStream input) throws IOException {
+        ResultImportReport report = new ResultImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            addError(report, 1, "File is empty");
+            return report;
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        char delimiter = headerLine.indexOf('\t') >= 0 ? '\t' : ',';
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = split(headerLine, delimiter);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        for (String required : new String[] {"studentid", "coursecode", "score", "examtype"}) {
+            if (!columns.containsKey(required)) {
+                addError(report, 1, "Missing required column " + required);
+                return report;
+            }
+        }
+        
+        Map<String, Long> students = codeMap(studentRepository.findAllStudentCodes());
+        Map<String, Long> courses = codeMap(courseRepository.findAllCourseCodes());
+        // Per-student aggregate deltas: count, score sum, grade-point sum
+        Map<Long, double[]> deltas = new HashMap<>();
+        Map<Long, Set<Long>> coursesByStudent = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            
+            List<String> fields = split(line, delimiter);
+            Long studentId = students.get(field(fields, columns, "studentid"));
+            Long courseId = courses.get(field(fields, columns, "coursecode"));
+            if (studentId == null) {
+                addError(report, lineNumber, "Unknown student " + field(fields, columns, "studentid"));
+                continue;
+            }
+            if (courseId == null) {
+                addError(report, lineNumber, "Unknown course " + field(fields, columns, "coursecode"));
+                continue;
+            }
+            
+            double score;
+            Result.ExamType examType;
+            LocalDateTime examDate;
+            try {
+                score = Double.parseDouble(field(fields, columns, "score"));
+                examType = Result.ExamType.valueOf(field(fields, columns, "examtype").toUpperCase(Locale.ROOT));
+                examDate = parseDate(field(fields, columns, "examdate"), now.toLocalDateTime());
+            } catch (NumberFormatException e) {
+                addError(report, lineNumber, "Invalid score " + field(fields, columns, "score"));
+                continue;
+            } catch (IllegalArgumentException e) {
+                addError(report, lineNumber, "Invalid exam type " + field(fields, columns, "examtype"));
+                continue;
+            } catch (DateTimeParseException e) {
+                addError(report, lineNumber, "Invalid exam date " + field(fields, columns, "examdate"));
+                continue;
+            }
+            if (Double.isNaN(score) || Double.isInfinite(score) || score < 0 || score > 100) {
+                addError(report, lineNumber, "Score must be between 0 and 100");
+                continue;
+            }
+            
+            Result.Grade grade = gradeScaleService.gradeFor(courseId, score);
+            String remarks = field(fields, columns, "remarks");
+            batch.add(new Object[] {studentId, courseId, score, grade.name(), grade.getGpaValue(), examType.name(),
+                Timestamp.valueOf(examDate), remarks.isEmpty() ? null : remarks, now, now});
+            double[] delta = deltas.computeIfAbsent(studentId, id -> new double[3]);
+            delta[0]++;
+            delta[1] += score;
+            delta[2] += grade.getGpaValue();
+            coursesByStudent.computeIfAbsent(studentId, id -> new HashSet<>()).add(courseId);
+            
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+            }
+        }
+        flush(batch, report);
+        
+        deltas.forEach((studentId, delta) -> resultService.adjustAggregate(studentId, (long) delta[0], delta[1], delta[2]));
+        coursesByStudent.forEach((studentId, courseIds) ->
+            eventPublisher.publishEvent(new ResultsChangedEvent(studentId, courseIds)));
+        return report;
+    }
+    
+    private void flush(List<Object[]> batch, ResultImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        report.setImported(report.getImported() + batch.size());
+        batch.clear();
+    }
+    
+    private static void addError(ResultImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ResultImportReport.LineError(line, message));
+        }
+    }
+    
+    private static Map<String, Long> codeMap(List<Object[]> rows) {
+        Map<String, Long> codes = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            codes.put(((String) row[0]).toUpperCase(Locale.ROOT), (Long) row[1]);
+        }
+        return codes;
+    }
+    
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+    
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return "";
+        }
+        String value = fields.get(index).trim();
+        return name.equals("studentid") || name.equals("coursecode") ? value.toUpperCase(Locale.ROOT) : value;
+    }
+    
+    private static LocalDateTime parseDate(String value, LocalDateTime fallback) {
+        if (value.isEmpty()) {
+            return fallback;
+        }
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        return LocalDateTime.parse(value);
+    }
+    
+    // Splits one line, honouring double-quoted fields and "" escapes
+    private static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
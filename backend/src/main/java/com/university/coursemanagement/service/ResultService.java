@@ -1,73 +1,275 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.cache.TranscriptCache;
+import com.university.coursemanagement.dto.ScoreStatistics;
+import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.entity.Result;
+import com.university.coursemanagement.entity.Student;
+import com.university.coursemanagement.entity.StudentResultAggregate;
+import com.university.coursemanagement.event.ResultsChangedEvent;
+import com.university.coursemanagement.repository.CourseRepository;
 import com.university.coursemanagement.repository.ResultRepository;
+import com.university.coursemanagement.repository.StudentRepository;
+import com.university.coursemanagement.repository.StudentResultAggregateRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ResultService {
+
+    private static final String INSERT_EMPTY_AGGREGATE_SQL =
+            "INSERT INTO student_result_aggregates (student_id, result_count, score_sum, grade_point_sum, updated_at) "
+                    + "VALUES (?, 0, 0, 0, CURRENT_TIMESTAMP)";
     
     @Autowired
     private ResultRepository resultRepository;
     
-    public Double calculateStudentGPA(Long studentId) {
-        List<Result> results = resultRepository.findByStudentId(studentId);
-        if (results.isEmpty()) return 0.0;
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentResultAggregateRepository aggregateRepository;
+    
+    @Autowired
+    private TranscriptCache transcriptCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    @Lazy
+    private GradeScaleService gradeScaleService;
+    
+    /**
+     * Rebuilds every student's running totals from one grouped scan, covering rows
+     * loaded by data.sql or written while the aggregates were not being maintained.
+     * Runs after GradePointsBackfill has filled grade_points.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void rebuildAggregates() {
+        List<StudentResultAggregate> aggregates = new ArrayList<>();
+        for (Object[] row : resultRepository.summarizeByStudent()) {
+            aggregates.add(new StudentResultAggregate((Long) row[0], ((Number) row[1]).longValue(),
+                row[2] != null ? ((Number) row[2]).doubleValue() : 0.0,
+                row[3] != null ? ((Number) row[3]).doubleValue() : 0.0));
+        }
+        aggregateRepository.deleteAllInBatch();
+        aggregateRepository.saveAll(aggregates);
+        transcriptCache.clear();
+    }
+    
+    @Transactional
+    public Optional<Result> createResult(Long studentId, Long courseId, Double score, Result.ExamType examType,
+                                         String remarks, LocalDateTime examDate) {
+        Optional<Student> student = studentRepository.findById(studentId);
+        Optional<Course> course = courseRepository.findById(courseId);
+        if (student.isEmpty() || course.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Result result = new Result(student.get(), course.get(), score, examType);
+        if (score != null) {
+            result.setGrade(gradeScaleService.gradeFor(courseId, score));
+        }
+        result.setRemarks(remarks);
+        if (examDate != null) {
+            result.setExamDate(examDate);
+        }
+        
+        Result saved = resultRepository.save(result);
+        applyDelta(studentId, 1, saved.getScore(), gradePoints(saved));
+        eventPublisher.publishEvent(new ResultsChangedEvent(studentId, Set.of(courseId)));
+        return Optional.of(saved);
+    }
+    
+    @Transactional
+    public Optional<Result> updateResult(Long id, Double score, Result.ExamType examType, String remarks, LocalDateTime examDate) {
+        Optional<Result> optionalResult = resultRepository.findByIdForUpdate(id);
+        if (optionalResult.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Result result = optionalResult.get();
+        double previousScore = scoreOf(result);
+        double previousGradePoints = gradePoints(result);
+        
+        result.setScore(score);
+        // A newly entered mark replaces any curved score
+        result.setRawScore(null);
+        if (score != null) {
+            result.setGrade(gradeScaleService.gradeFor(result.getCourse().getId(), score));
+        }
+        result.setExamType(examType);
+        result.setRemarks(remarks);
+        if (examDate != null) {
+            result.setExamDate(examDate);
+        }
         
-        double totalGradePoints = results.stream()
-            .mapToDouble(r -> r.getGrade().getGpaValue())
-            .sum();
+        Result saved = resultRepository.save(result);
+        applyDelta(saved.getStudent().getId(), 0, scoreOf(saved) - previousScore,
+            gradePoints(saved) - previousGradePoints);
+        eventPublisher.publishEvent(new ResultsChangedEvent(saved.getStudent().getId(), Set.of(saved.getCourse().getId())));
+        return Optional.of(saved);
+    }
+    
+    @Transactional
+    public boolean deleteResult(Long id) {
+        Optional<Result> optionalResult = resultRepository.findByIdForUpdate(id);
+        if (optionalResult.isEmpty()) {
+            return false;
+        }
         
-        return totalGradePoints / results.size();
+        Result result = optionalResult.get();
+        resultRepository.delete(result);
+        applyDelta(result.getStudent().getId(), -1, -scoreOf(result), -gradePoints(result));
+        eventPublisher.publishEvent(new ResultsChangedEvent(result.getStudent().getId(), Set.of(result.getCourse().getId())));
+        return true;
+    }
+    
+    public Double calculateStudentGPA(Long studentId) {
+        return aggregateRepository.findById(studentId)
+            .map(StudentResultAggregate::getGpa)
+            .orElse(0.0);
+    }
+    
+    public Double calculateStudentAverage(Long studentId) {
+        return aggregateRepository.findById(studentId)
+            .map(StudentResultAggregate::getAverage)
+            .orElse(0.0);
+    }
+    
+    /**
+     * Folds a change made outside this service, such as a bulk import, into the
+     * student's running totals. Must run inside the transaction that wrote the rows.
+     */
+    @Transactional
+    public void adjustAggregate(Long studentId, long count, double scoreDelta, double gradePointDelta) {
+        applyDelta(studentId, count, scoreDelta, gradePointDelta);
+    }
+    
+    private void applyDelta(Long studentId, long count, double scoreDelta, double gradePointDelta) {
+        // Every result write funnels through here, so this is where transcripts go stale
+        transcriptCache.evict(studentId);
+        if (aggregateRepository.applyDelta(studentId, count, scoreDelta, gradePointDelta) == 0) {
+            // First result for this student: create an empty row (a concurrent writer may win the insert)
+            // and apply the delta to whichever row now exists
+            try {
+                jdbcTemplate.update(INSERT_EMPTY_AGGREGATE_SQL, studentId);
+            } catch (DuplicateKeyException e) {
+                // Another transaction created it first
+            }
+            aggregateRepository.applyDelta(studentId, count, scoreDelta, gradePointDelta);
+        }
+    }
+    
+    private static double scoreOf(Result result) {
+        return result.getScore() != null ? result.getScore() : 0.0;
+    }
+    
+    private static double gradePoints(Result result) {
+        return result.getGradePoints() != null ? result.getGradePoints() : 0.0;
     }
     
     public Map<String, Object> getStudentTranscript(Long studentId) {
+        return transcriptCache.get(studentId, this::buildTranscript);
+    }
+    
+    public Map<String, Object> getTranscriptCacheStats() {
+        return transcriptCache.stats();
+    }
+    
+    private Map<String, Object> buildTranscript(Long studentId) {
         List<Result> results = resultRepository.findByStudentId(studentId);
         
         Map<String, List<Result>> resultsByCourse = results.stream()
             .collect(Collectors.groupingBy(r -> r.getCourse().getCode()));
         
-        Double gpa = calculateStudentGPA(studentId);
-        Double average = resultRepository.calculateOverallAverageByStudent(studentId);
+        StudentResultAggregate aggregate = aggregateRepository.findById(studentId).orElse(null);
         
         return Map.of(
             "results", results,
             "resultsByCourse", resultsByCourse,
-            "gpa", gpa != null ? gpa : 0.0,
-            "average", average != null ? average : 0.0,
+            "gpa", aggregate != null ? aggregate.getGpa() : 0.0,
+            "average", aggregate != null ? aggregate.getAverage() : 0.0,
             "totalCourses", resultsByCourse.size()
         );
     }
     
+    /**
+     * Mean, median, spread, percentiles, histogram and grade distribution for a course,
+     * overall and per exam type, computed from primitive score arrays.
+     */
     public Map<String, Object> getCourseStatistics(Long courseId) {
-        List<Result> results = resultRepository.findByCourseId(courseId);
+        List<Object[]> rows = resultRepository.findScoresByCourse(courseId);
+        int gradeCount = Result.Grade.values().length;
         
-        if (results.isEmpty()) {
-            return Map.of(
-                "average", 0.0,
-                "totalStudents", 0,
-                "gradeDistribution", Map.of()
-            );
+        int typeCount = Result.ExamType.values().length;
+        int[] sizes = new int[typeCount];
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                sizes[((Result.ExamType) row[1]).ordinal()]++;
+            }
         }
         
-        Double average = results.stream()
-            .mapToDouble(Result::getScore)
-            .average()
-            .orElse(0.0);
+        double[] all = new double[rows.size()];
+        int[] allGrades = new int[gradeCount];
+        double[][] byType = new double[typeCount][];
+        int[][] gradesByType = new int[typeCount][gradeCount];
+        int[] filled = new int[typeCount];
+        for (int t = 0; t < typeCount; t++) {
+            byType[t] = new double[sizes[t]];
+        }
         
-        Map<Result.Grade, Long> gradeDistribution = results.stream()
-            .collect(Collectors.groupingBy(Result::getGrade, Collectors.counting()));
+        int n = 0;
+        for (Object[] row : rows) {
+            double score = ((Number) row[0]).doubleValue();
+            Result.Grade grade = row[2] != null ? (Result.Grade) row[2] : Result.Grade.fromScore(score);
+            all[n++] = score;
+            allGrades[grade.ordinal()]++;
+            if (row[1] != null) {
+                int t = ((Result.ExamType) row[1]).ordinal();
+                byType[t][filled[t]++] = score;
+                gradesByType[t][grade.ordinal()]++;
+            }
+        }
+        
+        Map<Result.ExamType, ScoreStatistics> examTypeStatistics = new EnumMap<>(Result.ExamType.class);
+        for (Result.ExamType examType : Result.ExamType.values()) {
+            int t = examType.ordinal();
+            if (sizes[t] > 0) {
+                examTypeStatistics.put(examType, ScoreStatistics.of(byType[t], sizes[t], gradesByType[t]));
+            }
+        }
         
         return Map.of(
-            "average", average,
-            "totalStudents", results.size(),
-            "gradeDistribution", gradeDistribution,
-            "results", results
+            "courseId", courseId,
+            "overall", ScoreStatistics.of(all, n, allGrades),
+            "byExamType", examTypeStatistics
         );
     }
 }
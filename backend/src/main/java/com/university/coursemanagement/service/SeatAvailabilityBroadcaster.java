@@ -0,0 +1,149 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.event.SeatsChangedEvent;
+import com.university.coursemanagement.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes seat-count deltas to Server-Sent Events subscribers. Committed seat changes
+ * are summed per course and flushed once per tick as a single serialized payload, so
+ * the cost per tick is one fan-out regardless of how many registrations happened.
+ * Absolute enrolled counts are sent on connect and every snapshot interval, so a
+ * client that missed or double-applied a delta converges again.
+ */
+@Service
+public class SeatAvailabilityBroadcaster {
+
+    private static final long HEARTBEAT_MS = 15000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${course.availability.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${course.availability.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${course.availability.stream.snapshot-ms:30000}")
+    private long snapshotIntervalMs;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    // Adders are drained in place, so a delta added mid-flush lands in the next tick
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private volatile long lastSentAt = System.currentTimeMillis();
+
+    private volatile long lastSnapshotAt = System.currentTimeMillis();
+
+    /**
+     * Returns null when the subscriber limit has been reached.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        try {
+            emitter.send(snapshotEvent());
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent event) {
+        pending.computeIfAbsent(event.getCourseId(), id -> new LongAdder()).add(event.getDelta());
+    }
+
+    @Scheduled(fixedDelayString = "${course.availability.stream.tick-ms:500}")
+    public void flush() {
+        Map<Long, Long> deltas = drain();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        if (System.currentTimeMillis() - lastSnapshotAt > snapshotIntervalMs) {
+            // Drained deltas are already reflected in the counts read after the drain
+            try {
+                broadcast(snapshotEvent());
+            } catch (IOException e) {
+                return;
+            }
+            lastSnapshotAt = System.currentTimeMillis();
+        } else if (!deltas.isEmpty()) {
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(Map.of("deltas", deltas));
+            } catch (JsonProcessingException e) {
+                return;
+            }
+            broadcast(SseEmitter.event().name("seats").data(payload, MediaType.APPLICATION_JSON));
+        } else if (System.currentTimeMillis() - lastSentAt > HEARTBEAT_MS) {
+            // Comment frames keep proxies from closing idle streams and reveal dead clients
+            broadcast(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((courseId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(courseId, delta);
+            }
+        });
+        return deltas;
+    }
+
+    private SseEmitter.SseEventBuilder snapshotEvent() throws JsonProcessingException {
+        Map<Long, Integer> enrolled = new HashMap<>();
+        for (Object[] row : courseRepository.findEnrolledCounts()) {
+            enrolled.put((Long) row[0], row[1] != null ? (Integer) row[1] : 0);
+        }
+        String payload = objectMapper.writeValueAsString(Map.of("enrolled", enrolled));
+        return SseEmitter.event().name("snapshot").data(payload, MediaType.APPLICATION_JSON);
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        lastSentAt = System.currentTimeMillis();
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.event.SeatsChangedEvent;
+import com.university.coursemanagement.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out course seats. The conditional UPDATE on courses.enrolled_count is the
+ * authority; the per-course in-memory counters only let us reject a full course
+ * without touching the database. Counters are independent per course, so
+ * contention on one popular course never blocks another.
+ */
+@Service
+public class SeatReservationService {
+
+    private static final long COUNTER_REFRESH_MS = 5000;
+
+    public enum Reservation {
+        RESERVED, FULL, UNKNOWN_COURSE
+    }
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcileOnStartup() {
+        courseRepository.recountEnrolledSeats();
+        counters.clear();
+    }
+
+    @Transactional
+    public Reservation tryReserve(Long courseId) {
+        return tryReserve(courseId, 1);
+    }
+
+    @Transactional
+    public Reservation tryReserve(Long courseId, int seats) {
+        SeatCounter counter = counterFor(courseId);
+        if (counter == null) {
+            return Reservation.UNKNOWN_COURSE;
+        }
+
+        if (!counter.tryAcquire(seats)) {
+            if (!counter.isStale()) {
+                return Reservation.FULL;
+            }
+            // Another node may have released seats since we last looked
+            counters.remove(courseId, counter);
+            counter = counterFor(courseId);
+            if (counter == null) {
+                return Reservation.UNKNOWN_COURSE;
+            }
+            if (!counter.tryAcquire(seats)) {
+                return Reservation.FULL;
+            }
+        }
+
+        if (courseRepository.reserveSeats(courseId, seats) == 0) {
+            counter.release(seats);
+            counters.remove(courseId, counter);
+            return Reservation.FULL;
+        }
+
+        SeatCounter acquired = counter;
+        afterRollback(() -> acquired.release(seats));
+        eventPublisher.publishEvent(new SeatsChangedEvent(courseId, seats));
+        return Reservation.RESERVED;
+    }
+
+    /**
+     * Reserves as many of the requested seats as are still free and returns how many
+     * were granted. Tries the whole block first, then whatever the counter believes is
+     * left, then settles any remainder one seat at a time.
+     */
+    @Transactional
+    public int reserveUpTo(Long courseId, int wanted) {
+        if (wanted <= 0) {
+            return 0;
+        }
+        Reservation reservation = tryReserve(courseId, wanted);
+        if (reservation == Reservation.RESERVED) {
+            return wanted;
+        }
+        if (reservation == Reservation.UNKNOWN_COURSE) {
+            return 0;
+        }
+
+        int granted = 0;
+        SeatCounter counter = counters.get(courseId);
+        int free = counter != null ? counter.free() : 0;
+        if (free > 1 && free < wanted && tryReserve(courseId, free) == Reservation.RESERVED) {
+            granted = free;
+        }
+        while (granted < wanted && tryReserve(courseId) == Reservation.RESERVED) {
+            granted++;
+        }
+        return granted;
+    }
+
+    @Transactional
+    public void release(Long courseId) {
+        release(courseId, 1);
+    }
+
+    @Transactional
+    public void release(Long courseId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        if (courseRepository.releaseSeats(courseId, seats) == 0) {
+            return;
+        }
+        eventPublisher.publishEvent(new SeatsChangedEvent(courseId, -seats));
+        afterCommit(() -> {
+            SeatCounter counter = counters.get(courseId);
+            if (counter != null) {
+                counter.release(seats);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached counter so the next reservation reloads capacity, e.g. after
+     * maxStudents has been edited or the course deleted.
+     */
+    public void evict(Long courseId) {
+        counters.remove(courseId);
+    }
+
+    private SeatCounter counterFor(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            return counter;
+        }
+        Optional<Course> course = courseRepository.findById(courseId);
+        if (course.isEmpty()) {
+            return null;
+        }
+        SeatCounter loaded = new SeatCounter(course.get().getEnrolledCount(), course.get().getMaxStudents());
+        SeatCounter existing = counters.putIfAbsent(courseId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class SeatCounter {
+        private final AtomicInteger enrolled;
+        private final Integer capacity;
+        private final long loadedAt = System.currentTimeMillis();
+
+        SeatCounter(Integer enrolled, Integer capacity) {
+            this.enrolled = new AtomicInteger(enrolled != null ? enrolled : 0);
+            this.capacity = capacity;
+        }
+
+        boolean tryAcquire(int seats) {
+            while (true) {
+                int current = enrolled.get();
+                if (capacity != null && current + seats > capacity) {
+                    return false;
+                }
+                if (enrolled.compareAndSet(current, current + seats)) {
+                    return true;
+                }
+            }
+        }
+
+        int free() {
+            return capacity == null ? Integer.MAX_VALUE : Math.max(0, capacity - enrolled.get());
+        }
+
+        void release(int seats) {
+            enrolled.updateAndGet(current -> Math.max(0, current - seats));
+        }
+
+        boolean isStale() {
+            return System.currentTimeMillis() - loadedAt > COUNTER_REFRESH_MS;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.cache.BloomFilter;
+import com.university.coursemanagement.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revoked token ids (jti), persisted in revoked_tokens and mirrored in memory so the
+ * per-request check never touches the database. A Bloom filter answers the common
+ * "not revoked" case; only its positives consult the exact set. Entries live until
+ * the token itself would have expired, then are pruned from both the table and
+ * memory, and revocations made by other instances are picked up on the next sync.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Overlap between syncs so rows committed just before lastSync are not missed
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO revoked_tokens (jti, username, revoked_at, expires_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${auth.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // jti -> expiry in epoch millis
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    private int filterCapacity;
+
+    private volatile LocalDateTime lastSync;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        filterCapacity = expectedEntries;
+        filter = new BloomFilter(filterCapacity, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> active = revokedTokenRepository.findActive(now);
+        active.forEach(this::remember);
+        lastSync = now;
+        if (!active.isEmpty()) {
+            logger.info("Loaded {} revoked tokens", active.size());
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        filterPositives.increment();
+        if (revoked.containsKey(jti)) {
+            hits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revokes a token id, returning false if it was already revoked here or by another
+     * instance, so exactly one caller wins when a single-use token is presented twice.
+     */
+    @Transactional
+    public boolean revoke(String jti, String username, Date expiresAt) {
+        if (jti == null || expiresAt == null || !remember(jti, expiresAt.getTime())) {
+            return false;
+        }
+        try {
+            // A plain insert, so a jti already revoked elsewhere fails on the primary key
+            jdbcTemplate.update(INSERT_SQL, jti, username, Timestamp.valueOf(LocalDateTime.now()),
+                new Timestamp(expiresAt.getTime()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        } catch (RuntimeException e) {
+            revoked.remove(jti);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:30000}")
+    @Transactional
+    public void syncAndPrune() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastSync != null) {
+            revokedTokenRepository.findRevokedSince(lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), now)
+                .forEach(this::remember);
+        }
+        lastSync = now;
+
+        revokedTokenRepository.deleteExpired(now);
+        long nowMillis = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt < nowMillis)) {
+            rebuildFilter();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        BloomFilter current = filter;
+        stats.put("revokedTokens", revoked.size());
+        stats.put("filterBits", current.getBitCount());
+        stats.put("filterHashes", current.getHashCount());
+        stats.put("checks", checks.sum());
+        stats.put("filterPositives", filterPositives.sum());
+        stats.put("revokedHits", hits.sum());
+        return stats;
+    }
+
+    private void remember(Object[] row) {
+        remember((String) row[0], Timestamp.valueOf((LocalDateTime) row[1]).getTime());
+    }
+
+    // Returns false if the jti was already known
+    private synchronized boolean remember(String jti, long expiresAtMillis) {
+        if (revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+            return false;
+        }
+        filter.add(jti);
+        if (revoked.size() > filterCapacity) {
+            rebuildFilter();
+        }
+        return true;
+    }
+
+    // Bloom filters cannot forget, so shrinking or outgrowing the set means starting over
+    private synchronized void rebuildFilter() {
+        filterCapacity = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(filterCapacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,223 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.entity.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams transcripts for a whole cohort from a single forward-only cursor over
+ * students joined to their results, ordered by student. Only the student currently
+ * under the cursor is held in memory; GPA and average are folded in as rows arrive.
+ */
+@Service
+public class TranscriptExportService {
+    
+    public enum Format {
+        NDJSON, CSV
+    }
+    
+    private static final String EXPORT_SQL = "SELECT s.id, s.student_id, s.first_name, s.last_name, s.email, " +
+        "c.code, c.title, c.credits, r.exam_type, r.score, r.grade, r.exam_date, r.grade_points " +
+        "FROM students s LEFT JOIN results r ON r.student_id = s.id LEFT JOIN courses c ON c.id = r.course_id ";
+    
+    private static final String ORDER_BY = "ORDER BY s.id, r.course_id, r.id";
+    
+    private static final String CSV_HEADER = "studentId,firstName,lastName,email,gpa,average,courseCode,courseTitle," +
+        "credits,examType,score,grade,examDate";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${transcript.export.fetch-size:500}")
+    private int fetchSize;
+    
+    private volatile Boolean mySql;
+    
+    public void export(OutputStream output, Format format, List<Long> studentIds) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        StudentAccumulator accumulator = new StudentAccumulator(writer, format);
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        // Connector/J buffers the whole result set and ignores fetch sizes unless useCursorFetch is set,
+        // which would switch every query in the pool to server-side statements; Integer.MIN_VALUE asks it
+        // to stream rows for this statement only
+        cursor.setFetchSize(isMySql() ? Integer.MIN_VALUE : fetchSize);
+        
+        RowCallbackHandler handler = accumulator::accept;
+        try {
+            if (studentIds == null || studentIds.isEmpty()) {
+                cursor.query(EXPORT_SQL + ORDER_BY, handler);
+            } else {
+                Set<Long> ids = new HashSet<>(studentIds);
+                String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+                cursor.query(EXPORT_SQL + "WHERE s.id IN (" + placeholders + ") " + ORDER_BY, handler, ids.toArray());
+            }
+            accumulator.finish();
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+    
+    private boolean isMySql() {
+        Boolean mySql = this.mySql;
+        if (mySql == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName()).toLowerCase(Locale.ROOT);
+                mySql = product.contains("mysql") || product.contains("mariadb");
+            } catch (MetaDataAccessException e) {
+                throw new DataAccessResourceFailureException("Could not determine the database product", e);
+            }
+            this.mySql = mySql;
+        }
+        return mySql;
+    }
+    
+    private class StudentAccumulator {
+        private final Writer writer;
+        private final Format format;
+        
+        private long currentId = -1;
+        private Map<String, Object> student;
+        private final List<Map<String, Object>> results = new ArrayList<>();
+        private double scoreSum;
+        private double gradePointSum;
+        
+        StudentAccumulator(Writer writer, Format format) {
+            this.writer = writer;
+            this.format = format;
+        }
+        
+        void accept(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id != currentId) {
+                finish();
+                currentId = id;
+                student = new LinkedHashMap<>();
+                student.put("id", id);
+                student.put("studentId", rs.getString(2));
+                student.put("firstName", rs.getString(3));
+                student.put("lastName", rs.getString(4));
+                student.put("email", rs.getString(5));
+            }
+            
+            String courseCode = rs.getString(6);
+            if (courseCode == null) {
+                // Student without results
+                return;
+            }
+            double score = rs.getDouble(10);
+            String grade = rs.getString(11);
+            Timestamp examDate = rs.getTimestamp(12);
+            
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("courseCode", courseCode);
+            result.put("courseTitle", rs.getString(7));
+            result.put("credits", rs.getInt(8));
+            result.put("examType", rs.getString(9));
+            result.put("score", score);
+            result.put("grade", grade);
+            result.put("examDate", examDate != null ? examDate.toLocalDateTime().toString() : null);
+            results.add(result);
+            
+            scoreSum += score;
+            double gradePoints = rs.getDouble(13);
+            if (rs.wasNull() && grade != null) {
+                gradePoints = Result.Grade.valueOf(grade).getGpaValue();
+            }
+            gradePointSum += gradePoints;
+        }
+        
+        void finish() {
+            if (student == null) {
+                return;
+            }
+            int count = results.size();
+            double gpa = count > 0 ? gradePointSum / count : 0.0;
+            double average = count > 0 ? scoreSum / count : 0.0;
+            try {
+                if (format == Format.NDJSON) {
+                    writeJson(gpa, average);
+                } else {
+                    writeCsv(gpa, average);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            student = null;
+            results.clear();
+            scoreSum = 0;
+            gradePointSum = 0;
+        }
+        
+        private void writeJson(double gpa, double average) throws IOException {
+            student.put("gpa", gpa);
+            student.put("average", average);
+            student.put("totalCourses", results.stream().map(r -> r.get("courseCode")).distinct().count());
+            student.put("results", results);
+            writer.write(objectMapper.writeValueAsString(student));
+            writer.write('\n');
+        }
+        
+        private void writeCsv(double gpa, double average) throws IOException {
+            String prefix = csv(student.get("studentId")) + "," + csv(student.get("firstName")) + ","
+                + csv(student.get("lastName")) + "," + csv(student.get("email")) + "," + gpa + "," + average;
+            if (results.isEmpty()) {
+                writer.write(prefix + ",,,,,,,\n");
+                return;
+            }
+            for (Map<String, Object> result : results) {
+                writer.write(prefix + "," + result.values().stream().map(TranscriptExportService::csv)
+                    .collect(Collectors.joining(",")));
+                writer.write('\n');
+            }
+        }
+    }
+    
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
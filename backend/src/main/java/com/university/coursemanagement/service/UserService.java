@@ -1,10 +1,17 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.cache.UserDetailsCache;
+import com.university.coursemanagement.entity.LoginIdentifier;
 import com.university.coursemanagement.entity.Role;
 import com.university.coursemanagement.entity.User;
 import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.repository.UserRepository;
+import com.university.coursemanagement.repository.LoginIdentifierRepository;
 import com.university.coursemanagement.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,12 +26,23 @@ import java.util.Optional;
 @Service
 public class UserService implements UserDetailsService {
     
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private LoginIdentifierRepository loginIdentifierRepository;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
     private final PasswordEncoder passwordEncoder;
     
     public UserService(PasswordEncoder passwordEncoder) {
@@ -33,21 +51,91 @@ public class UserService implements UserDetailsService {
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // First try to find by username (for admin, instructor, registrar)
-        Optional<User> user = userRepository.findByUsername(username);
-        if (user.isPresent()) {
-            return user.get();
+        return userDetailsCache.get(username, this::findForLogin);
+    }
+    
+    private User findForLogin(String username) {
+        // Usernames and student IDs share one index; the student is fetched in the same query
+        return loginIdentifierRepository.findUserByIdentifier(LoginIdentifier.normalize(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+    
+    /**
+     * Indexes login names of accounts saved without going through this service,
+     * such as the seeded users.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void indexLoginIdentifiers() {
+        int claimed = loginIdentifierRepository.claimUsernames();
+        if (claimed > 0) {
+            logger.warn("Moved {} login identifiers from student IDs to the usernames they collide with", claimed);
         }
-        
-        // If not found, try to find by student ID (for students)
-        user = userRepository.findByStudentId(username);
-        if (user.isPresent()) {
-            return user.get();
+        int added = loginIdentifierRepository.indexMissingUsernames() + loginIdentifierRepository.indexMissingStudentIds();
+        if (added > 0) {
+            logger.info("Indexed {} login identifiers", added);
+        }
+    }
+    
+    private User saveWithLoginIdentifiers(User user) {
+        User saved = userRepository.save(user);
+        addLoginIdentifier(saved.getUsername(), saved, true);
+        if (saved.getStudent() != null) {
+            addLoginIdentifier(saved.getStudent().getStudentId(), saved, false);
+        }
+        userStatsService.userCreated(saved.getRole());
+        return saved;
+    }
+    
+    // A username takes over an identifier held as another account's student ID; any other clash is logged
+    private void addLoginIdentifier(String identifier, User user, boolean username) {
+        if (identifier == null) {
+            return;
+        }
+        String key = LoginIdentifier.normalize(identifier);
+        Optional<LoginIdentifier> existing = loginIdentifierRepository.findById(key);
+        if (existing.isEmpty()) {
+            loginIdentifierRepository.save(new LoginIdentifier(key, user));
+            return;
         }
         
-        throw new UsernameNotFoundException("User not found: " + username);
+        LoginIdentifier mapped = existing.get();
+        User owner = mapped.getUser();
+        if (owner.getId().equals(user.getId())) {
+            return;
+        }
+        if (username && !key.equals(LoginIdentifier.normalize(owner.getUsername()))) {
+            logger.warn("Username {} of user {} replaces the student ID login of user {}", key, user.getId(), owner.getId());
+            mapped.setUser(user);
+            loginIdentifierRepository.save(mapped);
+            userDetailsCache.evict(owner.getId());
+        } else {
+            logger.warn("Login identifier {} already belongs to user {}, not indexed for user {}", key, owner.getId(), user.getId());
+        }
     }
     
+    /**
+     * Moves a student's login identifier to its changed student ID.
+     */
+    @Transactional
+    public void reindexStudentId(String previousStudentId, Student student) {
+        Optional<User> user = userRepository.findByStudentId(student.getStudentId());
+        if (user.isEmpty()) {
+            return;
+        }
+        User account = user.get();
+        String previous = LoginIdentifier.normalize(previousStudentId);
+        // Keep the old identifier if it is also the account's username
+        if (previous != null && !previous.equals(LoginIdentifier.normalize(account.getUsername()))) {
+            loginIdentifierRepository.findById(previous)
+                .filter(mapped -> mapped.getUser().getId().equals(account.getId()))
+                .ifPresent(loginIdentifierRepository::delete);
+        }
+        addLoginIdentifier(student.getStudentId(), account, false);
+        userDetailsCache.evict(account.getId());
+    }
+    
+    @Transactional
     public User createUser(User user) {
         if (userRepository.existsByUsername(user.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -57,7 +145,7 @@ public class UserService implements UserDetailsService {
         }
         
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        return saveWithLoginIdentifiers(user);
     }
     
     @Transactional
@@ -82,7 +170,7 @@ public class UserService implements UserDetailsService {
         user.setStudent(student);
         
         // Save the user (which will also update the student relationship)
-        return userRepository.save(user);
+        return saveWithLoginIdentifiers(user);
     }
     
     public List<User> getAllUsers() {
@@ -117,17 +205,28 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
+        Role previousRole = user.getRole();
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
         user.setEmail(userDetails.getEmail());
         user.setRole(userDetails.getRole());
         user.setEnabled(userDetails.isEnabled());
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(id);
+        userStatsService.roleChanged(previousRole, saved.getRole());
+        return saved;
     }
     
+    @Transactional
     public void deleteUser(Long id) {
+        Optional<User> user = userRepository.findById(id);
+        loginIdentifierRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        // A student ID the deleted username was shadowing becomes usable again
+        loginIdentifierRepository.indexMissingStudentIds();
+        userDetailsCache.evict(id);
+        user.ifPresent(deleted -> userStatsService.userDeleted(deleted.getRole()));
     }
     
     public boolean existsByUsername(String username) {
@@ -148,6 +247,7 @@ public class UserService implements UserDetailsService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsCache.evict(user.getId());
     }
     
     public void toggleUserStatus(Long id) {
@@ -156,6 +256,7 @@ public class UserService implements UserDetailsService {
         
         user.setEnabled(!user.isEnabled());
         userRepository.save(user);
+        userDetailsCache.evict(user.getId());
     }
     
     // Student-specific methods
@@ -171,6 +272,7 @@ public class UserService implements UserDetailsService {
         return userRepository.existsByStudentStudentId(studentId);
     }
     
+    @Transactional
     public User createStudentUser(String studentId, String password) {
         // Normalize student ID to uppercase for consistency
         String normalizedStudentId = studentId.toUpperCase().trim();
@@ -204,6 +306,6 @@ public class UserService implements UserDetailsService {
         user.setAccountNonLocked(true);
         user.setCredentialsNonExpired(true);
         
-        return userRepository.save(user);
+        return saveWithLoginIdentifiers(user);
     }
 }
@@ -0,0 +1,96 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Role;
+import com.university.coursemanagement.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-role user counts for the admin dashboard, served from memory. UserService
+ * applies deltas once its writes commit; a periodic grouped count corrects any
+ * drift from writes that bypass it, such as the seeded accounts.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    private static final Role[] ROLES = Role.values();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AtomicLongArray counts = new AtomicLongArray(ROLES.length);
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${user-stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long[] actual = new long[ROLES.length];
+        for (Object[] row : userRepository.countGroupedByRole()) {
+            actual[((Role) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+        for (Role role : ROLES) {
+            long previous = counts.getAndSet(role.ordinal(), actual[role.ordinal()]);
+            if (previous != actual[role.ordinal()]) {
+                logger.debug("Reconciled {} count from {} to {}", role, previous, actual[role.ordinal()]);
+            }
+        }
+    }
+
+    public void userCreated(Role role) {
+        afterCommit(() -> counts.incrementAndGet(role.ordinal()));
+    }
+
+    public void userDeleted(Role role) {
+        afterCommit(() -> counts.decrementAndGet(role.ordinal()));
+    }
+
+    public void roleChanged(Role from, Role to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            counts.decrementAndGet(from.ordinal());
+            counts.incrementAndGet(to.ordinal());
+        });
+    }
+
+    public Map<String, Long> getStats() {
+        long total = 0;
+        for (int i = 0; i < ROLES.length; i++) {
+            total += counts.get(i);
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", total);
+        stats.put("admins", counts.get(Role.ADMIN.ordinal()));
+        stats.put("instructors", counts.get(Role.INSTRUCTOR.ordinal()));
+        stats.put("students", counts.get(Role.STUDENT.ordinal()));
+        stats.put("registrars", counts.get(Role.REGISTRAR.ordinal()));
+        return stats;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Registration;
+import com.university.coursemanagement.entity.Registration.RegistrationStatus;
+import com.university.coursemanagement.repository.RegistrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Promotes PENDING registrations in FIFO order once seats free up. Seat releases only
+ * mark the course as dirty; the scheduled worker then drains each dirty course once
+ * per tick, so a burst of drops on one course costs a single batched promotion.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Value("${registration.waitlist.batch-size:50}")
+    private int batchSize;
+
+    private final Set<Long> dirtyCourses = ConcurrentHashMap.newKeySet();
+
+    private final TransactionTemplate transactionTemplate;
+
+    public WaitlistService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleExistingWaitlists() {
+        dirtyCourses.addAll(registrationRepository.findCourseIdsWithWaitlist());
+    }
+
+    /**
+     * Queues the course for promotion once the surrounding transaction commits.
+     */
+    public void seatsFreed(Long courseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirtyCourses.add(courseId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dirtyCourses.add(courseId);
+            }
+        });
+    }
+
+    public long positionOf(Registration registration) {
+        if (registration.getStatus() != RegistrationStatus.PENDING) {
+            return 0;
+        }
+        return registrationRepository.countWaitlistAhead(registration.getCourse().getId(),
+            registration.getRegistrationDate(), registration.getId()) + 1;
+    }
+
+    @Scheduled(fixedDelayString = "${registration.waitlist.promotion-interval-ms:1000}")
+    public void promoteWaitlisted() {
+        if (dirtyCourses.isEmpty()) {
+            return;
+        }
+        List<Long> courseIds = new ArrayList<>(dirtyCourses);
+        dirtyCourses.removeAll(courseIds);
+
+        for (Long courseId : courseIds) {
+            try {
+                int promoted = 0;
+                int batch;
+                do {
+                    batch = transactionTemplate.execute(status -> promoteBatch(courseId));
+                    promoted += batch;
+                } while (batch == batchSize);
+                if (promoted > 0) {
+                    logger.info("Promoted {} waitlisted registrations for course {}", promoted, courseId);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Waitlist promotion failed for course {}", courseId, e);
+                dirtyCourses.add(courseId);
+            }
+        }
+    }
+
+    private int promoteBatch(Long courseId) {
+        List<Registration> waitlist = registrationRepository.findWaitlist(courseId, PageRequest.of(0, batchSize));
+        if (waitlist.isEmpty()) {
+            return 0;
+        }
+        int granted = seatReservationService.reserveUpTo(courseId, waitlist.size());
+        List<Registration> promoted = waitlist.subList(0, granted);
+        promoted.forEach(registration -> registration.setStatus(RegistrationStatus.ENROLLED));
+        registrationRepository.saveAll(promoted);
+        return granted;
+    }
+}
@@ -32,20 +32,20 @@ INSERT INTO students (student_id, first_name, last_name, email, phone, date_of_b
 ('S005', 'Emma', 'Brown', 'emma.brown@university.edu', '+1234567894', '2001-07-25');
 
 -- Sample registrations
-INSERT INTO registrations (student_id, course_id, status, registration_date) VALUES
-(1, 1, 'ENROLLED', NOW());
+INSERT INTO registrations (id, student_id, course_id, status, registration_date) VALUES
+(1, 1, 1, 'ENROLLED', NOW());
 
-INSERT INTO registrations (student_id, course_id, status, registration_date) VALUES
-(1, 2, 'COMPLETED', NOW());
+INSERT INTO registrations (id, student_id, course_id, status, registration_date) VALUES
+(2, 1, 2, 'COMPLETED', NOW());
 
-INSERT INTO registrations (student_id, course_id, status, registration_date) VALUES
-(2, 1, 'ENROLLED', NOW());
+INSERT INTO registrations (id, student_id, course_id, status, registration_date) VALUES
+(3, 2, 1, 'ENROLLED', NOW());
 
-INSERT INTO registrations (student_id, course_id, status, registration_date) VALUES
-(3, 3, 'COMPLETED', NOW());
+INSERT INTO registrations (id, student_id, course_id, status, registration_date) VALUES
+(4, 3, 3, 'COMPLETED', NOW());
 
-INSERT INTO registrations (student_id, course_id, status, registration_date) VALUES
-(4, 4, 'ENROLLED', NOW());
+INSERT INTO registrations (id, student_id, course_id, status, registration_date) VALUES
+(5, 4, 4, 'ENROLLED', NOW());
 
 -- Sample results/grades
 INSERT INTO results (student_id, course_id, score, grade, exam_type, exam_date, remarks) VALUES
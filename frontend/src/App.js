@@ -17,7 +17,7 @@ import Register from './components/Register';
 import StudentRegister from './components/StudentRegister';
 import ProtectedRoute from './components/ProtectedRoute';
 import UserManagement from './components/UserManagement';
-import { tokenService } from './services/api';
+import { authAPI, tokenService } from './services/api';
 
 function AppContent() {
   const [user, setUser] = useState(null);
@@ -39,6 +39,8 @@ function AppContent() {
   };
 
   const handleLogout = () => {
+    // Revoke the token server-side; clear local state regardless of the outcome
+    authAPI.logout().catch(() => {});
     setUser(null);
     tokenService.clearAuth();
     navigate('/login', { replace: true });
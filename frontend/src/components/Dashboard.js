@@ -25,7 +25,7 @@ const Dashboard = () => {
         const [coursesRes, studentsRes, registrationsRes, availableRes, resultsRes] = await Promise.all([
           courseAPI.getAll(),
           studentAPI.getAll(),
-          registrationAPI.getAll(),
+          registrationAPI.count(),
           courseAPI.getAvailable(),
           resultAPI.getAll()
         ]);
@@ -41,7 +41,7 @@ const Dashboard = () => {
         setStats({
           totalCourses: coursesRes.data.length,
           totalStudents: studentsRes.data.length,
-          totalRegistrations: registrationsRes.data.length,
+          totalRegistrations: registrationsRes.data,
           availableCourses: availableRes.data.length,
           totalResults: resultsRes.data.length
         });
@@ -26,7 +26,7 @@ const Login = ({ onLogin }) => {
 
     try {
       const response = await authAPI.login(formData);
-      const { token, ...userInfo } = response.data;
+      const { token, refreshToken, expiresIn, ...userInfo } = response.data;
       
       // If this is a student, ensure we have the student ID
       if (userInfo.role === 'STUDENT' && response.data.studentId) {
@@ -35,6 +35,7 @@ const Login = ({ onLogin }) => {
       
       // Store token and user info
       tokenService.setToken(token);
+      tokenService.setRefreshToken(refreshToken);
       tokenService.setUser(userInfo);
       
       // Call parent callback if provided
@@ -4,6 +4,7 @@ import { registrationAPI, studentAPI, courseAPI, authAPI, tokenService } from '.
 
 const RegistrationList = () => {
   const [registrations, setRegistrations] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [students, setStudents] = useState([]);
   const [courses, setCourses] = useState([]);
   const [currentUser, setCurrentUser] = useState(null);
@@ -56,7 +57,8 @@ const RegistrationList = () => {
           courseAPI.getAll()
         ]);
         
-        setRegistrations(regRes.data);
+        setRegistrations(regRes.data.items);
+        setNextCursor(regRes.data.nextCursor);
         setStudents(studRes.data);
         setCourses(courseRes.data);
       }
@@ -68,6 +70,16 @@ const RegistrationList = () => {
     }
   };
 
+  const loadMoreRegistrations = async () => {
+    try {
+      const regRes = await registrationAPI.getAll({ after: nextCursor });
+      setRegistrations(prev => [...prev, ...regRes.data.items]);
+      setNextCursor(regRes.data.nextCursor);
+    } catch (error) {
+      setError('Failed to load more registrations');
+    }
+  };
+
   const handleCreateRegistration = async () => {
     if (!newRegistration.courseId) {
       setError('Please select a course');
@@ -216,8 +228,8 @@ const RegistrationList = () => {
               <tbody>
                 {registrations.map(registration => (
                   <tr key={registration.id}>
-                    <td>{getStudentName(registration.student)}</td>
-                    <td>{getCourseInfo(registration.course)}</td>
+                    <td>{registration.student ? getStudentName(registration.student) : registration.studentName}</td>
+                    <td>{registration.course ? getCourseInfo(registration.course) : `${registration.courseCode} - ${registration.courseTitle}`}</td>
                     <td>{getStatusBadge(registration.status)}</td>
                     <td>{new Date(registration.registrationDate).toLocaleDateString()}</td>
                     {canManageRegistrations && (
@@ -244,6 +256,13 @@ const RegistrationList = () => {
               </tbody>
             </Table>
           )}
+          {nextCursor && (
+            <div className="text-center">
+              <Button variant="outline-secondary" onClick={loadMoreRegistrations}>
+                Load more
+              </Button>
+            </div>
+          )}
         </Card.Body>
       </Card>
 
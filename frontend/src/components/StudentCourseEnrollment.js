@@ -16,6 +16,22 @@ const StudentCourseEnrollment = () => {
     fetchData();
   }, []);
 
+  // Live seat counts instead of re-polling the course list
+  useEffect(() => {
+    const unsubscribe = courseAPI.subscribeSeatUpdates((deltas) => {
+      setAvailableCourses(courses => courses.map(course =>
+        deltas[course.id] !== undefined
+          ? { ...course, enrolledCount: (course.enrolledCount || 0) + deltas[course.id] }
+          : course
+      ));
+    }, (enrolled) => {
+      setAvailableCourses(courses => courses.map(course =>
+        enrolled[course.id] !== undefined ? { ...course, enrolledCount: enrolled[course.id] } : course
+      ));
+    });
+    return unsubscribe;
+  }, []);
+
   const fetchData = async () => {
     try {
       setLoading(true);
@@ -204,7 +220,7 @@ const StudentCourseEnrollment = () => {
                   <th>Title</th>
                   <th>Credits</th>
                   <th>Instructor</th>
-                  <th>Max Students</th>
+                  <th>Seats Left</th>
                   <th>Description</th>
                   <th>Action</th>
                 </tr>
@@ -216,7 +232,11 @@ const StudentCourseEnrollment = () => {
                     <td>{course.title}</td>
                     <td>{course.credits}</td>
                     <td>{course.instructor}</td>
-                    <td>{course.maxStudents || 'Unlimited'}</td>
+                    <td>
+                      {course.maxStudents
+                        ? `${Math.max(0, course.maxStudents - (course.enrolledCount || 0))} / ${course.maxStudents}`
+                        : 'Unlimited'}
+                    </td>
                     <td>
                       <small className="text-muted">
                         {course.description ? 
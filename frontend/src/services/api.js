@@ -13,12 +13,15 @@ const api = axios.create({
 
 // Token management
 const TOKEN_KEY = 'jwt_token';
+const REFRESH_TOKEN_KEY = 'jwt_refresh_token';
 const USER_KEY = 'user_info';
 
 export const tokenService = {
   getToken: () => localStorage.getItem(TOKEN_KEY),
   setToken: (token) => localStorage.setItem(TOKEN_KEY, token),
   removeToken: () => localStorage.removeItem(TOKEN_KEY),
+  getRefreshToken: () => localStorage.getItem(REFRESH_TOKEN_KEY),
+  setRefreshToken: (token) => token && localStorage.setItem(REFRESH_TOKEN_KEY, token),
   getUser: () => {
     const user = localStorage.getItem(USER_KEY);
     return user ? JSON.parse(user) : null;
@@ -27,6 +30,7 @@ export const tokenService = {
   removeUser: () => localStorage.removeItem(USER_KEY),
   clearAuth: () => {
     localStorage.removeItem(TOKEN_KEY);
+    localStorage.removeItem(REFRESH_TOKEN_KEY);
     localStorage.removeItem(USER_KEY);
   }
 };
@@ -43,10 +47,40 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Concurrent 401s share one refresh call; refresh tokens are single use
+let refreshPromise = null;
+
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    refreshPromise = axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken: tokenService.getRefreshToken() })
+      .then((response) => {
+        tokenService.setToken(response.data.token);
+        tokenService.setRefreshToken(response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 // Response interceptor to handle auth errors
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const original = error.config;
+    if (error.response?.status === 401 && original && !original._retried && tokenService.getRefreshToken()) {
+      original._retried = true;
+      try {
+        const token = await refreshAccessToken();
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch (refreshError) {
+        // Fall through to a fresh login
+      }
+    }
     if (error.response?.status === 401) {
       tokenService.clearAuth();
       window.location.href = '/login';
@@ -65,6 +99,63 @@ export const courseAPI = {
   create: (course) => api.post('/courses', course),
   update: (id, course) => api.put(`/courses/${id}`, course),
   delete: (id) => api.delete(`/courses/${id}`),
+  // Streams seat updates from the server; returns a function that closes the stream.
+  // onSnapshot gets absolute { courseId: enrolledCount } maps (on connect and periodically),
+  // onDeltas gets { courseId: seatDelta } maps in between. Reconnects with backoff if the stream ends.
+  // Uses fetch rather than EventSource so the Authorization header can be sent.
+  subscribeSeatUpdates: (onDeltas, onSnapshot) => {
+    const controller = new AbortController();
+    let retryDelay = 1000;
+    let retryTimer = null;
+
+    const connect = () => {
+      const token = tokenService.getToken();
+      fetch(`${API_BASE_URL}/courses/seats/stream`, {
+        headers: token ? { Authorization: `Bearer ${token}` } : {},
+        signal: controller.signal,
+      }).then(async (response) => {
+        if (!response.ok || !response.body) return;
+        retryDelay = 1000;
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true });
+          const frames = buffer.split('\n\n');
+          buffer = frames.pop();
+          frames.forEach((frame) => {
+            const lines = frame.split('\n');
+            const event = lines.find((line) => line.startsWith('event:'))?.slice(6).trim();
+            const data = lines
+              .filter((line) => line.startsWith('data:'))
+              .map((line) => line.slice(5))
+              .join('');
+            if (!data) return;
+            const payload = JSON.parse(data);
+            if (event === 'snapshot') {
+              if (onSnapshot) onSnapshot(payload.enrolled);
+            } else {
+              onDeltas(payload.deltas);
+            }
+          });
+        }
+      }).catch((error) => {
+        if (error.name !== 'AbortError') console.error('Seat update stream closed:', error);
+      }).finally(() => {
+        if (controller.signal.aborted) return;
+        retryTimer = setTimeout(connect, retryDelay);
+        retryDelay = Math.min(retryDelay * 2, 30000);
+      });
+    };
+
+    connect();
+    return () => {
+      clearTimeout(retryTimer);
+      controller.abort();
+    };
+  },
 };
 
 // Student API
@@ -80,9 +171,11 @@ export const studentAPI = {
 
 // Registration API
 export const registrationAPI = {
-  getAll: () => api.get('/registrations'),
+  // Paged: resolves to { items, nextCursor }; pass { after: nextCursor } for the next page
+  getAll: (params) => api.get('/registrations', { params }),
+  count: () => api.get('/registrations/count'),
   getByStudent: (studentId) => api.get(`/registrations/student/${studentId}`),
-  getByCourse: (courseId) => api.get(`/registrations/course/${courseId}`),
+  getByCourse: (courseId, params) => api.get(`/registrations/course/${courseId}`, { params }),
   getMyRegistrations: () => api.get('/registrations/my-registrations'),
   create: async (registration) => {
     try {
@@ -119,7 +212,14 @@ export const resultAPI = {
   getMyResults: () => api.get('/results/my-results'),
   getMyGPA: () => api.get('/results/my-gpa'),
   getMyAverage: () => api.get('/results/my-average'),
+  getTranscript: (studentId) => api.get(`/results/student/${studentId}/transcript`),
+  getMyTranscript: () => api.get('/results/my-transcript'),
   create: (result) => api.post('/results', result),
+  importFile: (file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post('/results/import', formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+  },
   update: (id, result) => api.put(`/results/${id}`, result),
   delete: (id) => api.delete(`/results/${id}`),
 };
@@ -129,7 +229,12 @@ export const authAPI = {
   login: (credentials) => api.post('/auth/login', credentials),
   register: (userData) => api.post('/auth/register', userData),
   registerStudent: (studentData) => api.post('/auth/register/student', studentData),
-  logout: () => api.post('/auth/logout'),
+  // Tokens are read up front because callers clear local auth right after calling this
+  logout: () => api.post(
+    '/auth/logout',
+    { refreshToken: tokenService.getRefreshToken() },
+    { headers: { Authorization: `Bearer ${tokenService.getToken()}` } }
+  ),
   getCurrentUser: () => api.get('/auth/me'),
   getCurrentUserStudent: () => api.get('/auth/current/student'),
   getRoles: () => api.get('/auth/roles'),